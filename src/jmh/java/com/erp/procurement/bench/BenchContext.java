@@ -0,0 +1,35 @@
+package com.erp.procurement.bench;
+
+import com.erp.procurement.ProcurementApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Boots the full application on a private in-memory H2 database for benchmarks that need
+ * Spring beans. Passed as command-line arguments so they override application.properties;
+ * the schema comes from Hibernate because the Flyway scripts are PostgreSQL-specific.
+ */
+final class BenchContext {
+
+    private BenchContext() {}
+
+    static ConfigurableApplicationContext start(String... overrides) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.flyway.enabled=false",
+                "--app.jwt.secret=benchmark-secret-key-that-is-at-least-256-bits-long",
+                "--server.port=0",
+                "--logging.level.root=WARN"));
+        args.addAll(List.of(overrides));
+        return new SpringApplicationBuilder(ProcurementApplication.class).run(args.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,55 @@
+package com.erp.procurement.bench;
+
+import com.erp.procurement.dto.Dtos;
+import com.erp.procurement.entity.PurchaseOrder;
+import com.erp.procurement.repository.SupplierRepository;
+import com.erp.procurement.service.PurchaseOrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** End-to-end PO create through the service layer: numbering, validation, insert, KPI and audit. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CreatePurchaseOrderBenchmark {
+
+    @Param({"5", "50"})
+    int itemCount;
+
+    ConfigurableApplicationContext context;
+    PurchaseOrderService poService;
+    Long supplierId;
+    List<Dtos.ItemRequest> items;
+
+    @Setup
+    public void setUp() {
+        context = BenchContext.start();
+        poService = context.getBean(PurchaseOrderService.class);
+        supplierId = context.getBean(SupplierRepository.class).findAll().get(0).getId();
+        items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new Dtos.ItemRequest("Hex bolt M" + i, "HB-" + i, "PCS",
+                    BigDecimal.valueOf(10 + i), new BigDecimal("12.5000")));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PurchaseOrder createPurchaseOrder() {
+        return poService.createPurchaseOrder(supplierId, LocalDate.now(), LocalDate.now().plusDays(14),
+                "benchmark", items, "coordinator");
+    }
+}
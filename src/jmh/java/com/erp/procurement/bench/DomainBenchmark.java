@@ -0,0 +1,107 @@
+package com.erp.procurement.bench;
+
+import com.erp.procurement.domain.Money;
+import com.erp.procurement.dto.Dtos;
+import com.erp.procurement.entity.PurchaseOrder;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pure-CPU money arithmetic on the create and list paths; no Spring context. Each scaled-long
+ * {@link Money} benchmark has a {@code BigDecimal} baseline reproducing the previous code, and
+ * setup fails if the two disagree on any of the generated inputs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DomainBenchmark {
+
+    @Param({"5", "50"})
+    int itemCount;
+
+    List<Dtos.ItemRequest> items;
+    BigDecimal[] billed;
+    BigDecimal[] grand;
+
+    @Setup
+    public void setUp() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new Dtos.ItemRequest("Item " + i, "IT-" + i, "PCS",
+                    BigDecimal.valueOf(random.nextInt(1, 1_000_000), 3),
+                    BigDecimal.valueOf(random.nextInt(1, 10_000_000), 4)));
+        }
+        billed = new BigDecimal[1024];
+        grand = new BigDecimal[1024];
+        for (int i = 0; i < billed.length; i++) {
+            grand[i] = BigDecimal.valueOf(random.nextLong(1, 100_000_000), 2);
+            billed[i] = grand[i].multiply(BigDecimal.valueOf(random.nextInt(0, 101), 2))
+                    .setScale(2, RoundingMode.HALF_UP);
+        }
+        verify();
+    }
+
+    private void verify() {
+        if (lineTotals() != Money.toMinor(lineTotalsBigDecimal())) {
+            throw new IllegalStateException("Money grand total differs from BigDecimal");
+        }
+        for (Dtos.ItemRequest item : items) {
+            if (Money.lineTotal(item.orderedQty(), item.unitPrice())
+                    != Money.toMinor(item.orderedQty().multiply(item.unitPrice()))) {
+                throw new IllegalStateException("Money line total differs from BigDecimal for " + item);
+            }
+        }
+        for (int i = 0; i < billed.length; i++) {
+            if (PurchaseOrder.billedPercent(billed[i], grand[i]) != billedPercentBigDecimal(billed[i], grand[i])) {
+                throw new IllegalStateException("Money percent differs from BigDecimal for " + billed[i] + "/" + grand[i]);
+            }
+        }
+    }
+
+    /** Line totals and grand total as computed by createPurchaseOrder and the bulk importer. */
+    @Benchmark
+    public long lineTotals() {
+        Money.Total total = new Money.Total();
+        for (Dtos.ItemRequest item : items) total.addLine(item.orderedQty(), item.unitPrice());
+        return total.minor();
+    }
+
+    /** The previous create path: exact BigDecimal products, rounded by the database on insert. */
+    @Benchmark
+    public BigDecimal lineTotalsBigDecimal() {
+        BigDecimal grandTotal = BigDecimal.ZERO;
+        for (Dtos.ItemRequest item : items) grandTotal = grandTotal.add(item.orderedQty().multiply(item.unitPrice()));
+        return grandTotal;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1024)
+    public int billedPercent() {
+        int sum = 0;
+        for (int i = 0; i < billed.length; i++) sum += PurchaseOrder.billedPercent(billed[i], grand[i]);
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1024)
+    public int billedPercentBigDecimal() {
+        int sum = 0;
+        for (int i = 0; i < billed.length; i++) sum += billedPercentBigDecimal(billed[i], grand[i]);
+        return sum;
+    }
+
+    private static int billedPercentBigDecimal(BigDecimal totalBilled, BigDecimal grandTotal) {
+        if (grandTotal.compareTo(BigDecimal.ZERO) == 0) return 0;
+        return totalBilled.multiply(BigDecimal.valueOf(100)).divide(grandTotal, 0, RoundingMode.HALF_UP).intValue();
+    }
+}
@@ -0,0 +1,54 @@
+package com.erp.procurement.bench;
+
+import com.erp.procurement.security.JwtUtil;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request token check. {@code cacheSize=0} disables the verified-token cache, so every
+ * call parses and checks the HMAC signature; the default size answers repeat tokens from cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    @Param({"0", "10000"})
+    String cacheSize;
+
+    ConfigurableApplicationContext context;
+    JwtUtil jwtUtil;
+    String token;
+
+    @Setup
+    public void setUp() {
+        context = BenchContext.start("--app.jwt.verified-cache.max-size=" + cacheSize);
+        jwtUtil = context.getBean(JwtUtil.class);
+        token = jwtUtil.generateToken("coordinator");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("coordinator");
+    }
+}
@@ -0,0 +1,48 @@
+package com.erp.procurement.bench;
+
+import com.erp.procurement.service.PoNumberAllocator;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PO number allocation. {@code blockSize=1} reserves from {@code po_number_sequences} on every
+ * call (one H2 transaction per number); larger blocks amortise that reservation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PoNumberBenchmark {
+
+    @Param({"1", "100"})
+    String blockSize;
+
+    ConfigurableApplicationContext context;
+    PoNumberAllocator allocator;
+
+    @Setup
+    public void setUp() {
+        context = BenchContext.start("--app.po-number.block-size=" + blockSize);
+        allocator = context.getBean(PoNumberAllocator.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String nextPoNumber() {
+        return allocator.nextPoNumber();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String nextPoNumberContended() {
+        return allocator.nextPoNumber();
+    }
+}
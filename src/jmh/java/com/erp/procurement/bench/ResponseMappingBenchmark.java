@@ -0,0 +1,133 @@
+package com.erp.procurement.bench;
+
+import com.erp.procurement.dto.PurchaseOrderSummary;
+import com.erp.procurement.entity.PurchaseOrder;
+import com.erp.procurement.entity.PurchaseOrderItem;
+import com.erp.procurement.entity.Supplier;
+import com.erp.procurement.entity.User;
+import com.erp.procurement.enums.PurchaseOrderStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PO response mapping and serialisation: the {@link PurchaseOrderSummary} record against the
+ * LinkedHashMap shape the controller used to build, each with plain reflection and with Blackbird.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseMappingBenchmark {
+
+    @Param({"reflection", "blackbird"})
+    String jackson;
+
+    @Param({"5", "50"})
+    int itemCount;
+
+    PurchaseOrder po;
+    ObjectMapper mapper;
+
+    @Setup
+    public void setUp() {
+        JsonMapper.Builder builder = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if ("blackbird".equals(jackson)) builder.addModule(new BlackbirdModule());
+        mapper = builder.build();
+
+        Supplier supplier = Supplier.builder().supplierCode("SUP-001").supplierName("Acme Industrial Supplies").build();
+        User creator = User.builder().username("coordinator").fullName("Paul Coord").build();
+        po = PurchaseOrder.builder()
+                .poNumber("PO-2025-1001").supplier(supplier).createdBy(creator)
+                .status(PurchaseOrderStatus.TO_BILL).orderDate(LocalDate.now())
+                .expectedDeliveryDate(LocalDate.now().plusDays(14)).remarks("Quarterly restock")
+                .grandTotal(BigDecimal.ZERO).totalReceived(BigDecimal.ZERO).totalBilled(BigDecimal.ZERO)
+                .build();
+        po.setCreatedAt(LocalDateTime.now());
+        List<PurchaseOrderItem> items = new ArrayList<>(itemCount);
+        BigDecimal grandTotal = BigDecimal.ZERO;
+        for (int i = 0; i < itemCount; i++) {
+            BigDecimal qty = BigDecimal.valueOf(10 + i);
+            BigDecimal price = new BigDecimal("12.5000");
+            BigDecimal lineTotal = qty.multiply(price);
+            items.add(PurchaseOrderItem.builder().purchaseOrder(po).itemDescription("Hex bolt M" + i)
+                    .itemCode("HB-" + i).unit("PCS").orderedQty(qty).receivedQty(qty)
+                    .unitPrice(price).lineTotal(lineTotal).build());
+            grandTotal = grandTotal.add(lineTotal);
+        }
+        po.setItems(items);
+        po.setGrandTotal(grandTotal);
+        po.setTotalReceived(grandTotal);
+        po.setTotalBilled(grandTotal.divide(BigDecimal.valueOf(2)));
+    }
+
+    @Benchmark
+    public PurchaseOrderSummary mapRecord() {
+        return PurchaseOrderSummary.from(po);
+    }
+
+    @Benchmark
+    public byte[] serializeRecord() throws Exception {
+        return mapper.writeValueAsBytes(PurchaseOrderSummary.from(po));
+    }
+
+    @Benchmark
+    public byte[] serializeMap() throws Exception {
+        return mapper.writeValueAsBytes(toMap(po));
+    }
+
+    // The response shape before PurchaseOrderSummary existed
+    private static Map<String, Object> toMap(PurchaseOrder po) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("id", po.getId());
+        m.put("poNumber", po.getPoNumber());
+        m.put("supplierId", po.getSupplier().getId());
+        m.put("supplierName", po.getSupplier().getSupplierName());
+        m.put("supplierCode", po.getSupplier().getSupplierCode());
+        m.put("status", po.getStatus());
+        m.put("orderDate", po.getOrderDate());
+        m.put("expectedDeliveryDate", po.getExpectedDeliveryDate());
+        m.put("grandTotal", po.getGrandTotal());
+        m.put("totalReceived", po.getTotalReceived());
+        m.put("totalBilled", po.getTotalBilled());
+        m.put("billedPercent", po.getBilledPercent());
+        m.put("createdBy", po.getCreatedBy().getFullName());
+        m.put("approvedBy", po.getApprovedBy() != null ? po.getApprovedBy().getFullName() : null);
+        m.put("approvedAt", po.getApprovedAt());
+        m.put("remarks", po.getRemarks());
+        m.put("createdAt", po.getCreatedAt());
+        m.put("updatedAt", po.getUpdatedAt());
+        m.put("version", po.getVersion());
+        List<Map<String, Object>> items = new ArrayList<>(po.getItems().size());
+        for (PurchaseOrderItem item : po.getItems()) {
+            Map<String, Object> im = new LinkedHashMap<>();
+            im.put("id", item.getId());
+            im.put("itemDescription", item.getItemDescription());
+            im.put("itemCode", item.getItemCode());
+            im.put("unit", item.getUnit());
+            im.put("orderedQty", item.getOrderedQty());
+            im.put("receivedQty", item.getReceivedQty());
+            im.put("unitPrice", item.getUnitPrice());
+            im.put("lineTotal", item.getLineTotal());
+            items.add(im);
+        }
+        m.put("items", items);
+        return m;
+    }
+}
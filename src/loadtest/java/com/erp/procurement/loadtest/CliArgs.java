@@ -0,0 +1,37 @@
+package com.erp.procurement.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/** {@code --key=value} command-line options with defaults. */
+final class CliArgs {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    CliArgs(String[] args) {
+        for (String arg : args) {
+            if (!arg.startsWith("--")) throw new IllegalArgumentException("Expected --key=value, got: " + arg);
+            int eq = arg.indexOf('=');
+            if (eq < 0) values.put(arg.substring(2), "true");
+            else values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+    }
+
+    String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    String require(String key) {
+        String value = values.get(key);
+        if (value == null) throw new IllegalArgumentException("Missing required option --" + key);
+        return value;
+    }
+
+    int getInt(String key, int defaultValue) {
+        return values.containsKey(key) ? Integer.parseInt(values.get(key)) : defaultValue;
+    }
+
+    long getLong(String key, long defaultValue) {
+        return values.containsKey(key) ? Long.parseLong(values.get(key)) : defaultValue;
+    }
+}
@@ -0,0 +1,439 @@
+package com.erp.procurement.loadtest;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fills a PostgreSQL database (schema from the Flyway migrations, default users from
+ * {@code DataSeeder}) with a production-shaped dataset: suppliers, purchase orders with 1–20
+ * items in every workflow status, the receipts and invoices those statuses imply, audit
+ * history and search rows.
+ *
+ * <p>Orders are generated in chunks; each chunk draws from its own random stream derived from
+ * {@code --seed} and its chunk number, so the content is identical run to run however the
+ * {@code --threads} workers interleave. Dates are relative to {@code --as-of} (default today),
+ * so pass it too when a run must be repeated exactly; database ids may differ between runs.
+ * Each chunk is written with JDBC batches in one transaction. Run once against a fresh
+ * database; generated PO numbers start at {@value #PO_SEQUENCE_BASE} so they never collide
+ * with allocator numbers.
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:java -Dexec.mainClass=com.erp.procurement.loadtest.DatasetGenerator \
+ *     -Dexec.args="--url=jdbc:postgresql://localhost:5432/erp_procurement --user=erp_user --password=… \
+ *                  --suppliers=1000 --orders=1000000 --seed=42 --threads=8"
+ * </pre>
+ */
+public class DatasetGenerator {
+
+    static final long PO_SEQUENCE_BASE = 1_000_000;
+
+    private static final String[] STATUSES = {"DRAFT", "SUBMITTED", "APPROVED", "TO_RECEIVE", "TO_BILL", "COMPLETED", "CANCELLED"};
+    private static final int[] STATUS_WEIGHTS = {8, 7, 5, 10, 15, 45, 10};
+
+    private static final String[] REGIONS = {"Northern", "Southern", "Eastern", "Western", "Central", "Pacific",
+            "Atlantic", "Midland", "Coastal", "Summit", "Valley", "Metro"};
+    private static final String[] TRADES = {"Fastener", "Electrical", "HVAC", "Plumbing", "Safety", "Packaging",
+            "Industrial", "Office", "Hydraulic", "Lumber", "Steel", "Chemical", "Janitorial", "Security"};
+    private static final String[] SUFFIXES = {"Supply Co.", "Traders Ltd.", "Inc.", "Distributors", "Wholesale",
+            "Group", "& Sons", "Partners"};
+    private static final String[] MATERIALS = {"Steel", "Copper", "PVC", "Brass", "Aluminium", "Nylon",
+            "Stainless", "Galvanised", "Rubber", "Ceramic"};
+    private static final String[] PARTS = {"hex bolt", "wing nut", "elbow fitting", "gate valve", "cable tie",
+            "junction box", "air filter", "pipe clamp", "gasket", "hinge", "bearing", "conduit", "fuse",
+            "circuit breaker", "drill bit", "safety glove", "pallet wrap", "mop head", "padlock", "thermostat"};
+    private static final String[] UNITS = {"PCS", "BOX", "SET", "KG", "M", "ROLL"};
+
+    private static final int CATALOGUE_SIZE = 2_000;
+
+    private static final String NEXT_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence(?, 'id')) FROM generate_series(1, ?)";
+
+    private record Users(long coordinator, long manager, long finance) {}
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int supplierCount;
+    private final long orderCount;
+    private final long seed;
+    private final int threads;
+    private final int chunkSize;
+    private final LocalDate asOf;
+
+    private final AtomicLong ordersWritten = new AtomicLong();
+    private final AtomicLong itemsWritten = new AtomicLong();
+    private final AtomicLong receiptsWritten = new AtomicLong();
+    private final AtomicLong invoicesWritten = new AtomicLong();
+    private final AtomicLong auditWritten = new AtomicLong();
+    private final Set<Integer> years = ConcurrentHashMap.newKeySet();
+
+    DatasetGenerator(CliArgs args) {
+        this.url = args.require("url");
+        this.user = args.get("user", "erp_user");
+        this.password = args.get("password", "");
+        this.supplierCount = args.getInt("suppliers", 500);
+        this.orderCount = args.getLong("orders", 100_000);
+        this.seed = args.getLong("seed", 42);
+        this.threads = args.getInt("threads", Runtime.getRuntime().availableProcessors());
+        this.chunkSize = args.getInt("chunk-size", 1_000);
+        this.asOf = LocalDate.parse(args.get("as-of", LocalDate.now().toString()));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new DatasetGenerator(new CliArgs(args)).run();
+    }
+
+    void run() throws Exception {
+        long started = System.nanoTime();
+        Users users;
+        List<Long> supplierIds;
+        try (Connection c = connect()) {
+            users = loadUsers(c);
+            supplierIds = generateSuppliers(c);
+        }
+        System.out.printf("Suppliers ready: %d (seed %d, as of %s)%n", supplierIds.size(), seed, asOf);
+
+        long chunks = (orderCount + chunkSize - 1) / chunkSize;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        ThreadLocal<Connection> connections = ThreadLocal.withInitial(this::connectUnchecked);
+        List<Connection> opened = new ArrayList<>();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (long chunk = 0; chunk < chunks; chunk++) {
+                long first = chunk * chunkSize;
+                int size = (int) Math.min(chunkSize, orderCount - first);
+                long chunkNumber = chunk;
+                futures.add(pool.submit(() -> {
+                    Connection c = connections.get();
+                    synchronized (opened) { if (!opened.contains(c)) opened.add(c); }
+                    writeChunk(c, chunkNumber, first, size, users, supplierIds);
+                    long done = ordersWritten.get();
+                    if (chunkNumber % 50 == 0) {
+                        double seconds = (System.nanoTime() - started) / 1e9;
+                        System.out.printf("  %,d / %,d orders (%.0f orders/s)%n", done, orderCount, done / seconds);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> f : futures) f.get();
+        } finally {
+            pool.shutdown();
+            for (Connection c : opened) c.close();
+        }
+
+        try (Connection c = connect()) {
+            advancePoNumberSequences(c);
+            try (Statement s = c.createStatement()) {
+                s.execute("ANALYZE");
+            }
+        }
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        System.out.printf("Done in %.1f s: %,d orders, %,d items, %,d receipts, %,d invoices, %,d audit rows (%.0f orders/s)%n",
+                seconds, ordersWritten.get(), itemsWritten.get(), receiptsWritten.get(), invoicesWritten.get(),
+                auditWritten.get(), ordersWritten.get() / seconds);
+    }
+
+    // ── REFERENCE DATA ─────────────────────────────────────────────────────────
+
+    private Users loadUsers(Connection c) throws SQLException {
+        Map<String, Long> ids = new HashMap<>();
+        try (PreparedStatement ps = c.prepareStatement(
+                "SELECT username, id FROM users WHERE username IN ('coordinator', 'manager', 'finance')");
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) ids.put(rs.getString(1), rs.getLong(2));
+        }
+        if (ids.size() != 3) {
+            throw new IllegalStateException("Default users not found — start the application once so DataSeeder creates them");
+        }
+        return new Users(ids.get("coordinator"), ids.get("manager"), ids.get("finance"));
+    }
+
+    private List<Long> generateSuppliers(Connection c) throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed);
+        c.setAutoCommit(false);
+        try (PreparedStatement ps = c.prepareStatement("INSERT INTO suppliers (supplier_code, supplier_name, "
+                + "contact_person, email, phone, address, payment_terms, active, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, true, ?) ON CONFLICT (supplier_code) DO NOTHING")) {
+            for (int i = 0; i < supplierCount; i++) {
+                String code = String.format("GEN-%06d", i);
+                String name = pick(random, REGIONS) + " " + pick(random, TRADES) + " " + pick(random, SUFFIXES);
+                ps.setString(1, code);
+                ps.setString(2, name);
+                ps.setString(3, "Contact " + i);
+                ps.setString(4, "sales" + i + "@supplier" + i + ".example");
+                ps.setString(5, String.format("555-%04d", i % 10_000));
+                ps.setString(6, (100 + random.nextInt(9_900)) + " Commerce Way");
+                ps.setString(7, random.nextBoolean() ? "Net 30" : "Net 15");
+                ps.setTimestamp(8, Timestamp.valueOf(asOf.minusYears(3).atStartOfDay()));
+                ps.addBatch();
+                if (i % 1_000 == 999) ps.executeBatch();
+            }
+            ps.executeBatch();
+        }
+        c.commit();
+        List<Long> ids = new ArrayList<>(supplierCount);
+        try (PreparedStatement ps = c.prepareStatement(
+                "SELECT id FROM suppliers WHERE supplier_code LIKE 'GEN-%' ORDER BY supplier_code LIMIT ?")) {
+            ps.setInt(1, supplierCount);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) ids.add(rs.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    // ── ORDERS ─────────────────────────────────────────────────────────────────
+
+    private void writeChunk(Connection c, long chunk, long firstIndex, int size, Users users, List<Long> supplierIds)
+            throws SQLException {
+        SplittableRandom random = new SplittableRandom(seed ^ (chunk * 0x9E3779B97F4A7C15L));
+        List<Object[]> orders = new ArrayList<>(size);
+        List<Object[]> items = new ArrayList<>(size * 4);
+        List<Object[]> receipts = new ArrayList<>();
+        List<Object[]> invoices = new ArrayList<>();
+        List<Object[]> audit = new ArrayList<>(size * 4);
+
+        c.setAutoCommit(false);
+        try {
+            List<Long> poIds = nextIds(c, "purchase_orders", size);
+            for (int k = 0; k < size; k++) {
+                generateOrder(random, firstIndex + k, poIds.get(k), users, supplierIds, orders, items, receipts, invoices, audit);
+            }
+            List<Long> itemIds = nextIds(c, "purchase_order_items", items.size());
+            for (int i = 0; i < items.size(); i++) items.get(i)[0] = itemIds.get(i);
+
+            batch(c, "INSERT INTO purchase_orders (id, po_number, supplier_id, created_by_id, approved_by_id, status, "
+                    + "order_date, expected_delivery_date, grand_total, total_received, total_billed, receipt_count, "
+                    + "remarks, created_at, updated_at, approved_at, version) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)", orders);
+            batch(c, "INSERT INTO purchase_order_items (id, purchase_order_id, item_description, item_code, unit, "
+                    + "ordered_qty, received_qty, unit_price, line_total) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", items);
+            batch(c, "INSERT INTO purchase_receipts (purchase_order_id, received_by_id, receipt_number, receipt_date, "
+                    + "received_amount, notes, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)", receipts);
+            batch(c, "INSERT INTO purchase_invoices (purchase_order_id, posted_by_id, invoice_number, invoice_date, "
+                    + "due_date, invoice_amount, payment_status, notes, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", invoices);
+            batch(c, "INSERT INTO audit_logs (action, entity_type, entity_id, performed_by, performed_at, "
+                    + "previous_status, new_status, description, ip_address) VALUES (?, 'PurchaseOrder', ?, ?, ?, ?, ?, ?, NULL)", audit);
+            try (PreparedStatement ps = c.prepareStatement("INSERT INTO purchase_order_search "
+                    + "(purchase_order_id, supplier_id, po_number, search_text) "
+                    + "SELECT p.id, p.supplier_id, p.po_number, purchase_order_search_text(p.id) "
+                    + "FROM purchase_orders p WHERE p.id = ANY (?)")) {
+                ps.setArray(1, c.createArrayOf("bigint", poIds.toArray()));
+                ps.executeUpdate();
+            }
+            c.commit();
+        } catch (SQLException | RuntimeException e) {
+            c.rollback();
+            throw e;
+        }
+        ordersWritten.addAndGet(size);
+        itemsWritten.addAndGet(items.size());
+        receiptsWritten.addAndGet(receipts.size());
+        invoicesWritten.addAndGet(invoices.size());
+        auditWritten.addAndGet(audit.size());
+    }
+
+    private void generateOrder(SplittableRandom random, long index, long poId, Users users, List<Long> supplierIds,
+                               List<Object[]> orders, List<Object[]> items, List<Object[]> receipts,
+                               List<Object[]> invoices, List<Object[]> audit) {
+        String status = weighted(random, STATUSES, STATUS_WEIGHTS);
+        LocalDate orderDate = asOf.minusDays(random.nextInt(730));
+        years.add(orderDate.getYear());
+        String poNumber = "PO-" + orderDate.getYear() + "-" + (PO_SEQUENCE_BASE + index);
+        // Squared uniform: a minority of suppliers receives most of the orders
+        double u = random.nextDouble();
+        long supplierId = supplierIds.get((int) (u * u * supplierIds.size()));
+        LocalDateTime created = orderDate.atTime(8, 0).plusSeconds(random.nextInt(10 * 3600));
+
+        int itemCount = Math.min(20, 1 + (int) (-Math.log(1 - random.nextDouble()) * 3));
+        BigDecimal grandTotal = BigDecimal.ZERO;
+        for (int i = 0; i < itemCount; i++) {
+            int sku = random.nextInt(CATALOGUE_SIZE);
+            BigDecimal qty = BigDecimal.valueOf(1 + random.nextInt(500)).setScale(3);
+            BigDecimal price = BigDecimal.valueOf(50 + random.nextInt(200_000), 2).setScale(4);
+            BigDecimal lineTotal = qty.multiply(price).setScale(2, RoundingMode.HALF_UP);
+            grandTotal = grandTotal.add(lineTotal);
+            boolean received = status.equals("TO_BILL") || status.equals("COMPLETED");
+            items.add(new Object[]{null, poId, description(sku), String.format("SKU-%05d", sku),
+                    UNITS[sku % UNITS.length], qty, received ? qty : BigDecimal.ZERO.setScale(3), price, lineTotal});
+        }
+
+        boolean approved = !status.equals("DRAFT") && !status.equals("SUBMITTED") && !status.equals("CANCELLED");
+        LocalDateTime at = created;
+        audit.add(auditRow("PO_CREATED", poId, "coordinator", at, null, "DRAFT",
+                "PO " + poNumber + " created | Total: " + grandTotal));
+        if (!status.equals("DRAFT") && !(status.equals("CANCELLED") && random.nextBoolean())) {
+            at = at.plusMinutes(5 + random.nextInt(600));
+            audit.add(auditRow("PO_SUBMITTED", poId, "coordinator", at, "DRAFT", "SUBMITTED", "PO submitted for approval"));
+        }
+        LocalDateTime approvedAt = null;
+        if (approved) {
+            at = at.plusMinutes(30 + random.nextInt(2_000));
+            approvedAt = at;
+            audit.add(auditRow("PO_APPROVED", poId, "manager", at, "SUBMITTED", "APPROVED", "PO approved by Sarah Owens"));
+        }
+
+        BigDecimal received = switch (status) {
+            case "TO_RECEIVE" -> fraction(random, grandTotal, 20, 90);
+            case "TO_BILL", "COMPLETED" -> grandTotal;
+            default -> BigDecimal.ZERO.setScale(2);
+        };
+        BigDecimal billed = switch (status) {
+            case "TO_BILL" -> random.nextInt(3) == 0 ? fraction(random, grandTotal, 10, 90) : BigDecimal.ZERO.setScale(2);
+            case "COMPLETED" -> grandTotal;
+            default -> BigDecimal.ZERO.setScale(2);
+        };
+
+        List<BigDecimal> receiptAmounts = split(random, received, 1 + random.nextInt(3));
+        for (int r = 0; r < receiptAmounts.size(); r++) {
+            at = at.plusHours(4 + random.nextInt(200));
+            receipts.add(new Object[]{poId, users.coordinator(), String.format("REC-%s-%05d", poNumber, r + 1),
+                    Date.valueOf(at.toLocalDate()), receiptAmounts.get(r), "Generated receipt", Timestamp.valueOf(at)});
+            boolean fullyReceived = r == receiptAmounts.size() - 1 && received.compareTo(grandTotal) == 0;
+            audit.add(auditRow("PO_RECEIVED", poId, "coordinator", at, null, fullyReceived ? "TO_BILL" : "TO_RECEIVE",
+                    "Received: " + receiptAmounts.get(r)));
+        }
+        List<BigDecimal> invoiceAmounts = split(random, billed, 1 + random.nextInt(2));
+        for (int v = 0; v < invoiceAmounts.size(); v++) {
+            at = at.plusHours(4 + random.nextInt(200));
+            String invoiceNumber = "INV-G" + index + "-" + (v + 1);
+            invoices.add(new Object[]{poId, users.finance(), invoiceNumber, Date.valueOf(at.toLocalDate()),
+                    Date.valueOf(at.toLocalDate().plusDays(30)), invoiceAmounts.get(v), "UNPAID", "Generated invoice",
+                    Timestamp.valueOf(at)});
+            boolean fullyBilled = v == invoiceAmounts.size() - 1 && billed.compareTo(grandTotal) == 0;
+            audit.add(auditRow("PO_BILLED", poId, "finance", at, null, fullyBilled ? "COMPLETED" : status,
+                    "Invoice: " + invoiceNumber + " | Amount: " + invoiceAmounts.get(v)));
+        }
+        if (status.equals("CANCELLED")) {
+            at = at.plusHours(1 + random.nextInt(48));
+            audit.add(auditRow("PO_CANCELLED", poId, "coordinator", at, null, "CANCELLED", "Cancelled: generated"));
+        }
+
+        orders.add(new Object[]{poId, poNumber, supplierId, users.coordinator(), approved ? users.manager() : null,
+                status, Date.valueOf(orderDate), Date.valueOf(orderDate.plusDays(7 + random.nextInt(60))),
+                grandTotal, received, billed, receiptAmounts.size(),
+                status.equals("CANCELLED") ? "CANCELLED: generated" : "Generated order",
+                Timestamp.valueOf(created), Timestamp.valueOf(at), approvedAt != null ? Timestamp.valueOf(approvedAt) : null});
+    }
+
+    private static Object[] auditRow(String action, long poId, String user, LocalDateTime at,
+                                     String previousStatus, String newStatus, String description) {
+        return new Object[]{action, poId, user, Timestamp.valueOf(at), previousStatus, newStatus, description};
+    }
+
+    /** Catalogue entry {@code sku}: the same code always has the same description. */
+    private static String description(int sku) {
+        return MATERIALS[sku % MATERIALS.length] + " " + PARTS[(sku / MATERIALS.length) % PARTS.length]
+                + " " + (4 + sku % 40) + "mm";
+    }
+
+    private void advancePoNumberSequences(Connection c) throws SQLException {
+        c.setAutoCommit(true);
+        try (PreparedStatement ps = c.prepareStatement("INSERT INTO po_number_sequences (sequence_year, next_value) "
+                + "VALUES (?, ?) ON CONFLICT (sequence_year) DO UPDATE "
+                + "SET next_value = GREATEST(po_number_sequences.next_value, EXCLUDED.next_value)")) {
+            for (int year : years) {
+                ps.setInt(1, year);
+                ps.setLong(2, PO_SEQUENCE_BASE + orderCount);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    // ── HELPERS ────────────────────────────────────────────────────────────────
+
+    private static List<Long> nextIds(Connection c, String table, int count) throws SQLException {
+        List<Long> ids = new ArrayList<>(count);
+        if (count == 0) return ids;
+        try (PreparedStatement ps = c.prepareStatement(NEXT_IDS_SQL)) {
+            ps.setString(1, table);
+            ps.setInt(2, count);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) ids.add(rs.getLong(1));
+            }
+        }
+        return ids;
+    }
+
+    private static void batch(Connection c, String sql, List<Object[]> rows) throws SQLException {
+        if (rows.isEmpty()) return;
+        try (PreparedStatement ps = c.prepareStatement(sql)) {
+            for (Object[] row : rows) {
+                for (int i = 0; i < row.length; i++) ps.setObject(i + 1, row[i]);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+    }
+
+    /** {@code total} split into {@code parts} positive amounts that add up exactly (to the cent). */
+    private static List<BigDecimal> split(SplittableRandom random, BigDecimal total, int parts) {
+        long cents = total.movePointRight(2).longValueExact();
+        if (cents == 0) return List.of();
+        parts = (int) Math.min(parts, cents);
+        List<BigDecimal> amounts = new ArrayList<>(parts);
+        long remaining = cents;
+        for (int i = parts - 1; i > 0; i--) {
+            long share = 1 + random.nextLong(Math.max(1, remaining - i) / 2 + 1);
+            amounts.add(BigDecimal.valueOf(share, 2));
+            remaining -= share;
+        }
+        amounts.add(BigDecimal.valueOf(remaining, 2));
+        return amounts;
+    }
+
+    private static BigDecimal fraction(SplittableRandom random, BigDecimal total, int minPercent, int maxPercent) {
+        int percent = minPercent + random.nextInt(maxPercent - minPercent + 1);
+        return total.multiply(BigDecimal.valueOf(percent, 2)).setScale(2, RoundingMode.DOWN);
+    }
+
+    private static String weighted(SplittableRandom random, String[] values, int[] weights) {
+        int sum = 0;
+        for (int w : weights) sum += w;
+        int r = random.nextInt(sum);
+        for (int i = 0; i < values.length; i++) {
+            r -= weights[i];
+            if (r < 0) return values[i];
+        }
+        return values[values.length - 1];
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(url, user, password);
+    }
+
+    private Connection connectUnchecked() {
+        try {
+            return connect();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot connect to " + url, e);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.erp.procurement.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load driver: {@code --clients} virtual threads each repeat a scenario until
+ * {@code --duration} seconds have passed, and latency is recorded per endpoint after the
+ * {@code --warmup} period. Prints count, errors, throughput and p50/p90/p99/max per endpoint,
+ * and writes the same figures as JSON when {@code --json} is given.
+ *
+ * <ul>
+ *   <li>{@code lifecycle} (default): create → submit → approve → receive → invoice, each step as
+ *       the role the API requires.</li>
+ *   <li>{@code create}: {@code --bulk-size} single creates per iteration.</li>
+ *   <li>{@code bulk}: one {@code POST /bulk} of {@code --bulk-size} orders per iteration; compare
+ *       its orders/s with the {@code create} scenario.</li>
+ * </ul>
+ *
+ * <pre>
+ * mvn -Ploadtest test-compile exec:java -Dexec.mainClass=com.erp.procurement.loadtest.LoadDriver \
+ *     -Dexec.args="--base-url=http://localhost:8080 --clients=2000 --duration=120 --warmup=20"
+ * </pre>
+ */
+public class LoadDriver {
+
+    private static final String[] ENDPOINTS = {"create", "submit", "approve", "receive", "invoice", "bulk"};
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient http;
+    private final String baseUrl;
+    private final String scenario;
+    private final int clients;
+    private final long durationMillis;
+    private final long warmupMillis;
+    private final int bulkSize;
+    private final long seed;
+    private final String jsonOut;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Map<String, LatencyHistogram> histograms = new LinkedHashMap<>();
+    private final AtomicLong ordersCreated = new AtomicLong();
+    private final AtomicLong invoiceSequence = new AtomicLong();
+    private volatile long recordFrom;
+
+    private String coordinatorToken;
+    private String managerToken;
+    private String financeToken;
+    private List<Long> supplierIds;
+
+    LoadDriver(CliArgs args) {
+        this.baseUrl = args.get("base-url", "http://localhost:8080");
+        this.scenario = args.get("scenario", "lifecycle");
+        this.clients = args.getInt("clients", 200);
+        this.durationMillis = TimeUnit.SECONDS.toMillis(args.getLong("duration", 60));
+        this.warmupMillis = TimeUnit.SECONDS.toMillis(args.getLong("warmup", 10));
+        this.bulkSize = args.getInt("bulk-size", 100);
+        this.seed = args.getLong("seed", 42);
+        this.jsonOut = args.get("json", null);
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        for (String endpoint : ENDPOINTS) histograms.put(endpoint, new LatencyHistogram());
+    }
+
+    public static void main(String[] args) throws Exception {
+        new LoadDriver(new CliArgs(args)).run();
+    }
+
+    void run() throws Exception {
+        coordinatorToken = login("coordinator", "Coord@123");
+        managerToken = login("manager", "Mgr@123");
+        financeToken = login("finance", "Fin@123");
+        supplierIds = new ArrayList<>();
+        for (JsonNode s : call("GET", "/api/suppliers", coordinatorToken, null, null)) {
+            if (s.path("active").asBoolean(true)) supplierIds.add(s.get("id").asLong());
+        }
+        if (supplierIds.isEmpty()) throw new IllegalStateException("No active suppliers");
+
+        System.out.printf("Scenario %s: %d clients, %d s (+%d s warm-up) against %s%n",
+                scenario, clients, (durationMillis - warmupMillis) / 1000, warmupMillis / 1000, baseUrl);
+        long start = System.currentTimeMillis();
+        recordFrom = start + warmupMillis;
+        long deadline = start + durationMillis;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                SplittableRandom random = new SplittableRandom(seed + c);
+                executor.submit(() -> {
+                    while (System.currentTimeMillis() < deadline) iteration(random);
+                    return null;
+                });
+            }
+        }
+        report((System.currentTimeMillis() - recordFrom) / 1000.0);
+    }
+
+    private void iteration(SplittableRandom random) {
+        try {
+            switch (scenario) {
+                case "lifecycle" -> lifecycle(random);
+                case "create" -> {
+                    for (int i = 0; i < bulkSize; i++) {
+                        call("POST", "/api/purchase-orders", coordinatorToken, order(random), "create");
+                        ordersCreated.incrementAndGet();
+                    }
+                }
+                case "bulk" -> {
+                    List<Map<String, Object>> orders = new ArrayList<>(bulkSize);
+                    for (int i = 0; i < bulkSize; i++) orders.add(order(random));
+                    JsonNode result = call("POST", "/api/purchase-orders/bulk", coordinatorToken, orders, "bulk");
+                    ordersCreated.addAndGet(result.path("created").asLong(0));
+                }
+                default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+            }
+        } catch (RequestFailed e) {
+            // Already counted against its endpoint; start the next iteration
+        }
+    }
+
+    private void lifecycle(SplittableRandom random) {
+        JsonNode po = call("POST", "/api/purchase-orders", coordinatorToken, order(random), "create");
+        ordersCreated.incrementAndGet();
+        long id = po.get("id").asLong();
+        BigDecimal total = po.get("grandTotal").decimalValue();
+        LocalDate today = LocalDate.now();
+
+        call("POST", "/api/purchase-orders/" + id + "/submit", coordinatorToken, null, "submit");
+        call("POST", "/api/purchase-orders/" + id + "/approve", managerToken, null, "approve");
+        call("POST", "/api/purchase-orders/" + id + "/receive", coordinatorToken,
+                Map.of("receiptDate", today.toString(), "receivedAmount", total, "notes", "load test"), "receive");
+        call("POST", "/api/purchase-orders/" + id + "/invoice", financeToken,
+                Map.of("invoiceNumber", "LT-" + runId + "-" + invoiceSequence.incrementAndGet(),
+                        "invoiceDate", today.toString(), "dueDate", today.plusDays(30).toString(),
+                        "invoiceAmount", total, "notes", "load test"), "invoice");
+    }
+
+    private Map<String, Object> order(SplittableRandom random) {
+        int itemCount = 1 + random.nextInt(8);
+        List<Map<String, Object>> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            int sku = random.nextInt(2_000);
+            items.add(Map.of(
+                    "itemDescription", "Load test part " + sku,
+                    "itemCode", String.format("LT-%05d", sku),
+                    "unit", "PCS",
+                    "orderedQty", BigDecimal.valueOf(1 + random.nextInt(100)),
+                    "unitPrice", BigDecimal.valueOf(100 + random.nextInt(50_000), 2)));
+        }
+        Map<String, Object> order = new LinkedHashMap<>();
+        order.put("supplierId", supplierIds.get(random.nextInt(supplierIds.size())));
+        order.put("orderDate", LocalDate.now().toString());
+        order.put("expectedDeliveryDate", LocalDate.now().plusDays(14).toString());
+        order.put("remarks", "load test " + runId);
+        order.put("items", items);
+        return order;
+    }
+
+    // ── HTTP ───────────────────────────────────────────────────────────────────
+
+    private String login(String username, String password) {
+        JsonNode body = call("POST", "/api/auth/login", null,
+                Map.of("username", username, "password", password), null);
+        return body.get("token").asText();
+    }
+
+    private JsonNode call(String method, String path, String token, Object body, String endpoint) {
+        LatencyHistogram histogram = endpoint != null ? histograms.get(endpoint) : null;
+        long started = System.nanoTime();
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(60))
+                    .header("Accept", "application/json");
+            if (token != null) request.header("Authorization", "Bearer " + token);
+            if (body != null) {
+                request.header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)));
+            } else {
+                request.method(method, HttpRequest.BodyPublishers.noBody());
+            }
+            HttpResponse<byte[]> response = http.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            long micros = (System.nanoTime() - started) / 1_000;
+            if (response.statusCode() / 100 != 2) {
+                if (histogram != null && recording()) histogram.recordError();
+                throw new RequestFailed(method + " " + path + " → " + response.statusCode());
+            }
+            if (histogram != null && recording()) histogram.record(micros);
+            return response.body().length == 0 ? mapper.nullNode() : mapper.readTree(response.body());
+        } catch (IOException e) {
+            if (histogram != null && recording()) histogram.recordError();
+            throw new RequestFailed(method + " " + path + " failed: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RequestFailed("Interrupted");
+        }
+    }
+
+    private boolean recording() {
+        return System.currentTimeMillis() >= recordFrom;
+    }
+
+    private static final class RequestFailed extends RuntimeException {
+        RequestFailed(String message) { super(message, null, false, false); }
+    }
+
+    // ── REPORT ─────────────────────────────────────────────────────────────────
+
+    private void report(double seconds) throws IOException {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        System.out.printf("%n%-10s %10s %8s %10s %10s %10s %10s %10s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (Map.Entry<String, LatencyHistogram> e : histograms.entrySet()) {
+            LatencyHistogram h = e.getValue();
+            if (h.count() == 0 && h.errors() == 0) continue;
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("endpoint", e.getKey());
+            row.put("count", h.count());
+            row.put("errors", h.errors());
+            row.put("throughput", h.count() / seconds);
+            row.put("p50Millis", h.percentileMicros(50) / 1000.0);
+            row.put("p90Millis", h.percentileMicros(90) / 1000.0);
+            row.put("p99Millis", h.percentileMicros(99) / 1000.0);
+            row.put("maxMillis", h.maxMicros() / 1000.0);
+            rows.add(row);
+            System.out.printf("%-10s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n", e.getKey(), h.count(), h.errors(),
+                    row.get("throughput"), row.get("p50Millis"), row.get("p90Millis"), row.get("p99Millis"), row.get("maxMillis"));
+        }
+        System.out.printf("%nOrders created: %d (%.1f orders/s including warm-up)%n",
+                ordersCreated.get(), ordersCreated.get() / (durationMillis / 1000.0));
+
+        if (jsonOut != null) {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("scenario", scenario);
+            summary.put("clients", clients);
+            summary.put("measuredSeconds", seconds);
+            summary.put("bulkSize", bulkSize);
+            summary.put("ordersCreated", ordersCreated.get());
+            summary.put("endpoints", rows);
+            mapper.writerWithDefaultPrettyPrinter().writeValue(Path.of(jsonOut).toFile(), summary);
+            System.out.println("Results written to " + jsonOut);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.erp.procurement.config;
+
+import com.erp.procurement.service.AuditRejectionHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class AuditExecutorConfig {
+
+    /**
+     * Bounded executor for audit writes. The queue holds batches, not single records, so a slow
+     * database shows up as rejections (handled by {@link AuditRejectionHandler}) instead of
+     * unbounded task build-up. It keeps platform threads under the virtual profile too: the pool
+     * size is what caps concurrent audit inserts.
+     */
+    @Bean(name = "auditExecutor")
+    public ThreadPoolTaskExecutor auditExecutor(AuditRejectionHandler rejectionHandler,
+                                                @Value("${app.audit.executor.core-size:2}") int coreSize,
+                                                @Value("${app.audit.executor.max-size:4}") int maxSize,
+                                                @Value("${app.audit.executor.queue-capacity:32}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(maxSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("audit-");
+        executor.setRejectedExecutionHandler(rejectionHandler);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -0,0 +1,16 @@
+package com.erp.procurement.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    /** Picked up by Boot's ObjectMapper; replaces reflective getter/constructor calls with LambdaMetafactory. */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
@@ -0,0 +1,92 @@
+package com.erp.procurement.config;
+
+import com.erp.procurement.service.AuditRejectionHandler;
+import com.erp.procurement.service.AuditSpool;
+import com.erp.procurement.service.AuditWriteBehindBuffer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class MetricsConfig {
+
+    /** Wraps the application DataSource so workflow timers can split DB time from total time. */
+    @Bean
+    public static BeanPostProcessor timedDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                return bean instanceof DataSource ds && !(bean instanceof TimedDataSource) ? new TimedDataSource(ds) : bean;
+            }
+        };
+    }
+
+    /**
+     * Audit pipeline depth as Prometheus gauges (audit lag shows up here first), plus what happened
+     * to batches the executor rejected and to the disk spool they may have gone to.
+     */
+    @Bean
+    public MeterBinder auditPipelineMetrics(AuditWriteBehindBuffer auditBuffer,
+                                            @Qualifier("auditExecutor") ThreadPoolTaskExecutor auditExecutor,
+                                            AuditRejectionHandler rejectionHandler,
+                                            AuditSpool spool) {
+        return registry -> {
+            Gauge.builder("procurement.audit.buffer.depth", auditBuffer, AuditWriteBehindBuffer::getQueueDepth)
+                    .description("Audit records waiting in the write-behind buffer")
+                    .register(registry);
+            Gauge.builder("procurement.audit.executor.queue", auditExecutor, ThreadPoolTaskExecutor::getQueueSize)
+                    .description("Audit batches queued for the audit executor")
+                    .register(registry);
+            Gauge.builder("procurement.audit.executor.active", auditExecutor, ThreadPoolTaskExecutor::getActiveCount)
+                    .description("Audit executor threads currently writing")
+                    .register(registry);
+            FunctionCounter.builder("procurement.audit.executor.completed", auditExecutor,
+                            e -> e.getThreadPoolExecutor().getCompletedTaskCount())
+                    .description("Audit tasks the executor has finished")
+                    .register(registry);
+            FunctionCounter.builder("procurement.audit.executor.rejected", rejectionHandler, AuditRejectionHandler::getCallerRuns)
+                    .description("Audit tasks the executor rejected, by how they were handled")
+                    .tag("handling", "caller_runs")
+                    .register(registry);
+            FunctionCounter.builder("procurement.audit.executor.rejected", rejectionHandler, AuditRejectionHandler::getSpooledBatches)
+                    .description("Audit tasks the executor rejected, by how they were handled")
+                    .tag("handling", "spooled")
+                    .register(registry);
+            FunctionCounter.builder("procurement.audit.executor.rejected", rejectionHandler, AuditRejectionHandler::getDiscardedFlushRequests)
+                    .description("Audit tasks the executor rejected, by how they were handled")
+                    .tag("handling", "discarded")
+                    .register(registry);
+            FunctionCounter.builder("procurement.audit.spool.records", spool, AuditSpool::getSpooled)
+                    .description("Audit records by spool outcome")
+                    .tag("outcome", "spooled")
+                    .register(registry);
+            FunctionCounter.builder("procurement.audit.spool.records", spool, AuditSpool::getReplayed)
+                    .description("Audit records by spool outcome")
+                    .tag("outcome", "replayed")
+                    .register(registry);
+            FunctionCounter.builder("procurement.audit.spool.records", spool, AuditSpool::getSpoolFailures)
+                    .description("Audit records by spool outcome")
+                    .tag("outcome", "spool_failed")
+                    .register(registry);
+            FunctionCounter.builder("procurement.audit.spool.quarantined", spool, AuditSpool::getQuarantinedFiles)
+                    .description("Spool files moved to failed/ after repeated replay failures")
+                    .register(registry);
+            Gauge.builder("procurement.audit.spool.files", spool, AuditSpool::pendingFiles)
+                    .description("Spool files by state")
+                    .tag("state", "pending")
+                    .register(registry);
+            Gauge.builder("procurement.audit.spool.files", spool, AuditSpool::failedFiles)
+                    .description("Spool files by state")
+                    .tag("state", "failed")
+                    .register(registry);
+        };
+    }
+}
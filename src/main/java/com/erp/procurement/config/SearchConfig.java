@@ -0,0 +1,49 @@
+package com.erp.procurement.config;
+
+import com.erp.procurement.service.InMemoryPurchaseOrderSearchIndex;
+import com.erp.procurement.service.PostgresPurchaseOrderSearchIndex;
+import com.erp.procurement.service.PurchaseOrderSearchIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.logging.Logger;
+
+@Configuration
+public class SearchConfig {
+
+    private static final Logger log = Logger.getLogger(SearchConfig.class.getName());
+
+    public enum Engine { AUTO, POSTGRES, MEMORY }
+
+    /**
+     * PostgreSQL gets the pg_trgm / tsvector index from migration V3; any other database (H2 in
+     * dev and tests) gets the embedded inverted index. {@code AUTO} decides from the JDBC driver.
+     */
+    @Bean
+    public PurchaseOrderSearchIndex purchaseOrderSearchIndex(DataSource dataSource,
+                                                             JdbcTemplate jdbcTemplate,
+                                                             @Value("${app.po.search.engine:AUTO}") Engine engine,
+                                                             @Value("${app.po.search.candidate-limit:2000}") int candidateLimit) {
+        if (engine == Engine.AUTO) engine = isPostgres(dataSource) ? Engine.POSTGRES : Engine.MEMORY;
+        log.info("PO search engine: " + engine);
+        return engine == Engine.POSTGRES
+                ? new PostgresPurchaseOrderSearchIndex(jdbcTemplate, candidateLimit)
+                : new InMemoryPurchaseOrderSearchIndex(new NamedParameterJdbcTemplate(jdbcTemplate), candidateLimit);
+    }
+
+    private static boolean isPostgres(DataSource dataSource) {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            return "PostgreSQL".equalsIgnoreCase(product);
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Cannot determine database type for PO search", e);
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package com.erp.procurement.config;
 
 <<<<<<< HEAD
-import com.erp.procurement.repository.UserRepository;
 import com.erp.procurement.security.JwtAuthFilter;
+import com.erp.procurement.service.ReferenceDataCache;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -25,11 +25,11 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @EnableMethodSecurity
 public class SecurityConfig {
 
-    private final UserRepository userRepository;
+    private final ReferenceDataCache referenceDataCache;
     private final JwtAuthFilter jwtAuthFilter;
 
-    public SecurityConfig(UserRepository userRepository, JwtAuthFilter jwtAuthFilter) {
-        this.userRepository = userRepository;
+    public SecurityConfig(ReferenceDataCache referenceDataCache, JwtAuthFilter jwtAuthFilter) {
+        this.referenceDataCache = referenceDataCache;
         this.jwtAuthFilter = jwtAuthFilter;
     }
 
@@ -51,7 +51,7 @@ public class SecurityConfig {
 
     @Bean
     public UserDetailsService userDetailsService() {
-        return username -> userRepository.findByUsername(username)
+        return username -> referenceDataCache.findUser(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
     }
 
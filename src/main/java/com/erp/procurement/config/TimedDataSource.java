@@ -0,0 +1,98 @@
+package com.erp.procurement.config;
+
+import com.erp.procurement.service.DbTimeTracker;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+
+/**
+ * DataSource wrapper that charges time spent acquiring connections, executing statements and
+ * committing/rolling back to the calling thread's {@link DbTimeTracker}. Row fetching after the
+ * first round trip is not included. {@code unwrap} still reaches the pool, so Boot's pool
+ * metrics and health checks keep working.
+ *
+ * <p>Only connections taken while a workflow operation is active are proxied; every other
+ * caller gets the pooled connection unchanged and pays nothing for the reflective proxies.
+ */
+class TimedDataSource extends DelegatingDataSource {
+
+    private static final Set<String> TIMED_CONNECTION_METHODS = Set.of("commit", "rollback");
+    private static final Set<String> STATEMENT_FACTORIES = Set.of("createStatement", "prepareStatement", "prepareCall");
+
+    TimedDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!DbTimeTracker.isActive()) return super.getConnection();
+        long start = System.nanoTime();
+        try {
+            return wrap(super.getConnection());
+        } finally {
+            DbTimeTracker.add(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (!DbTimeTracker.isActive()) return super.getConnection(username, password);
+        long start = System.nanoTime();
+        try {
+            return wrap(super.getConnection(username, password));
+        } finally {
+            DbTimeTracker.add(System.nanoTime() - start);
+        }
+    }
+
+    private static Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(TimedDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (STATEMENT_FACTORIES.contains(name)) {
+                        Statement statement = (Statement) invoke(connection, method, args);
+                        return wrap(statement, method.getReturnType());
+                    }
+                    if (TIMED_CONNECTION_METHODS.contains(name)) {
+                        return timed(connection, method, args);
+                    }
+                    return invoke(connection, method, args);
+                });
+    }
+
+    private static Object wrap(Statement statement, Class<?> type) {
+        Class<?> iface = type == CallableStatement.class ? CallableStatement.class
+                : type == PreparedStatement.class ? PreparedStatement.class : Statement.class;
+        InvocationHandler handler = (proxy, method, args) -> method.getName().startsWith("execute")
+                ? timed(statement, method, args)
+                : invoke(statement, method, args);
+        return Proxy.newProxyInstance(TimedDataSource.class.getClassLoader(), new Class<?>[]{iface}, handler);
+    }
+
+    private static Object timed(Object target, Method method, Object[] args) throws Throwable {
+        long start = System.nanoTime();
+        try {
+            return invoke(target, method, args);
+        } finally {
+            DbTimeTracker.add(System.nanoTime() - start);
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
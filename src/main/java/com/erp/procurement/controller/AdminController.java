@@ -0,0 +1,74 @@
+package com.erp.procurement.controller;
+
+import com.erp.procurement.security.JwtUtil;
+import com.erp.procurement.service.AuditOutboxRelay;
+import com.erp.procurement.service.AuditService;
+import com.erp.procurement.service.AuditWriteBehindBuffer;
+import com.erp.procurement.service.OptimisticRetryExecutor;
+import com.erp.procurement.service.PoKpiTracker;
+import com.erp.procurement.service.PoNumberAllocator;
+import com.erp.procurement.service.PurchaseOrderSearchIndex;
+import com.erp.procurement.service.ReferenceDataCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private final AuditWriteBehindBuffer auditBuffer;
+    private final AuditOutboxRelay outboxRelay;
+    private final PoNumberAllocator poNumberAllocator;
+    private final AuditService auditService;
+    private final PoKpiTracker kpiTracker;
+    private final ReferenceDataCache referenceDataCache;
+    private final JwtUtil jwtUtil;
+    private final OptimisticRetryExecutor retryExecutor;
+    private final PurchaseOrderSearchIndex searchIndex;
+
+    public AdminController(AuditWriteBehindBuffer auditBuffer,
+                           AuditOutboxRelay outboxRelay,
+                           PoNumberAllocator poNumberAllocator,
+                           AuditService auditService,
+                           PoKpiTracker kpiTracker,
+                           ReferenceDataCache referenceDataCache,
+                           JwtUtil jwtUtil,
+                           OptimisticRetryExecutor retryExecutor,
+                           PurchaseOrderSearchIndex searchIndex) {
+        this.auditBuffer = auditBuffer;
+        this.outboxRelay = outboxRelay;
+        this.poNumberAllocator = poNumberAllocator;
+        this.auditService = auditService;
+        this.kpiTracker = kpiTracker;
+        this.referenceDataCache = referenceDataCache;
+        this.jwtUtil = jwtUtil;
+        this.retryExecutor = retryExecutor;
+        this.searchIndex = searchIndex;
+    }
+
+    // ── PIPELINE METRICS ───────────────────────────────────────────────────────
+    @GetMapping("/metrics")
+    public ResponseEntity<?> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("auditBuffer", auditBuffer.metrics());
+        m.put("auditOutbox", outboxRelay.metrics());
+        m.put("poNumbers", poNumberAllocator.metrics());
+        m.put("kpi", kpiTracker.metrics());
+        m.put("caches", referenceDataCache.metrics());
+        m.put("verifiedTokens", jwtUtil.metrics());
+        m.put("optimisticRetry", retryExecutor.metrics());
+        m.put("search", searchIndex.metrics());
+        return ResponseEntity.ok(m);
+    }
+
+    // ── USER ACTIVITY (KEYSET PAGINATION) ──────────────────────────────────────
+    @GetMapping("/audit/users/{username}")
+    public ResponseEntity<?> userActivity(@PathVariable String username,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(auditService.getLogsForUser(username, cursor, size));
+    }
+}
@@ -1,30 +1,58 @@
 package com.erp.procurement.controller;
 
+import com.erp.procurement.dto.BulkPoResult;
+import com.erp.procurement.dto.Dtos;
+import com.erp.procurement.dto.PurchaseOrderSummary;
+import com.erp.procurement.dto.SeekPage;
 import com.erp.procurement.entity.*;
 import com.erp.procurement.enums.PurchaseOrderStatus;
 import com.erp.procurement.service.AuditService;
+import com.erp.procurement.service.PurchaseOrderBulkService;
+import com.erp.procurement.service.PurchaseOrderBulkTransitionService;
+import com.erp.procurement.service.PurchaseOrderExportService;
+import com.erp.procurement.service.PurchaseOrderSearchService;
 import com.erp.procurement.service.PurchaseOrderService;
+import com.erp.procurement.service.WorkflowMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.math.BigDecimal;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/purchase-orders")
 public class PurchaseOrderController {
 
     private final PurchaseOrderService poService;
+    private final PurchaseOrderBulkService bulkService;
+    private final PurchaseOrderBulkTransitionService bulkTransitionService;
+    private final PurchaseOrderExportService exportService;
+    private final PurchaseOrderSearchService searchService;
     private final AuditService auditService;
-
-    public PurchaseOrderController(PurchaseOrderService poService, AuditService auditService) {
+    private final WorkflowMetrics workflowMetrics;
+
+    public PurchaseOrderController(PurchaseOrderService poService,
+                                   PurchaseOrderBulkService bulkService,
+                                   PurchaseOrderBulkTransitionService bulkTransitionService,
+                                   PurchaseOrderExportService exportService,
+                                   PurchaseOrderSearchService searchService,
+                                   AuditService auditService,
+                                   WorkflowMetrics workflowMetrics) {
         this.poService = poService;
+        this.bulkService = bulkService;
+        this.bulkTransitionService = bulkTransitionService;
+        this.exportService = exportService;
+        this.searchService = searchService;
         this.auditService = auditService;
+        this.workflowMetrics = workflowMetrics;
     }
 
     // ── GET ALL ────────────────────────────────────────────────────────────────
@@ -33,104 +61,173 @@ public class PurchaseOrderController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "createdAt") String sort,
-            @RequestParam(required = false) String status) {
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "true") boolean includeItems) {
 
-        if (status != null && !status.isBlank()) {
-            PurchaseOrderStatus poStatus = PurchaseOrderStatus.valueOf(status.toUpperCase());
-            Page<PurchaseOrder> result = poService.getOrdersByStatus(poStatus, page, size);
-            return ResponseEntity.ok(toPageResponse(result));
-        }
-        Page<PurchaseOrder> result = poService.getAllOrders(page, size, sort);
+        PurchaseOrderStatus poStatus = status != null && !status.isBlank()
+                ? PurchaseOrderStatus.valueOf(status.toUpperCase()) : null;
+        Page<PurchaseOrderSummary> result = poService.getOrderSummaries(poStatus, page, size, sort, includeItems);
         return ResponseEntity.ok(toPageResponse(result));
     }
 
+    // ── SCROLL (KEYSET PAGINATION) ─────────────────────────────────────────────
+    @GetMapping("/scroll")
+    public ResponseEntity<?> scrollOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "none") String count,
+            @RequestParam(defaultValue = "true") boolean includeItems) {
+
+        PurchaseOrderStatus poStatus = status != null && !status.isBlank()
+                ? PurchaseOrderStatus.valueOf(status.toUpperCase()) : null;
+        SeekPage.CountMode countMode = SeekPage.CountMode.valueOf(count.toUpperCase());
+        return ResponseEntity.ok(poService.scrollOrderSummaries(poStatus, cursor, size, countMode, includeItems));
+    }
+
+    // ── SEARCH ─────────────────────────────────────────────────────────────────
+    @GetMapping("/search")
+    public ResponseEntity<?> search(@RequestParam String q,
+                                    @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(searchService.search(q, limit));
+    }
+
+    // ── EXPORT (NDJSON / CSV) ──────────────────────────────────────────────────
+    @GetMapping("/export")
+    public void export(@RequestParam(defaultValue = "ndjson") String format,
+                       @RequestParam(required = false) String status,
+                       @RequestParam(required = false) Long supplierId,
+                       @RequestParam(required = false) String from,
+                       @RequestParam(required = false) String to,
+                       HttpServletResponse response) throws IOException {
+        PurchaseOrderExportService.Format exportFormat = PurchaseOrderExportService.Format.valueOf(format.toUpperCase());
+        PurchaseOrderStatus poStatus = status != null && !status.isBlank()
+                ? PurchaseOrderStatus.valueOf(status.toUpperCase()) : null;
+        LocalDate fromDate = from != null && !from.isBlank() ? LocalDate.parse(from) : null;
+        LocalDate toDate = to != null && !to.isBlank() ? LocalDate.parse(to) : null;
+
+        boolean csv = exportFormat == PurchaseOrderExportService.Format.CSV;
+        response.setContentType(csv ? "text/csv" : "application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"purchase-orders." + (csv ? "csv" : "ndjson") + "\"");
+        try {
+            exportService.export(exportFormat, poStatus, supplierId, fromDate, toDate, response.getOutputStream());
+        } catch (PurchaseOrderExportService.ExportFailedException e) {
+            // Once rows are on the wire the export's error record is all the client gets. Before
+            // that, drop the attachment and let the failure become an ordinary error response.
+            if (response.isCommitted()) return;
+            response.reset();
+            throw e;
+        }
+    }
+
     // ── GET ONE ────────────────────────────────────────────────────────────────
     @GetMapping("/{id}")
     public ResponseEntity<?> getOrder(@PathVariable Long id) {
-        return ResponseEntity.ok(toResponse(poService.getOrderById(id)));
+        return ResponseEntity.ok(PurchaseOrderSummary.from(poService.getOrderById(id)));
     }
 
     // ── CREATE ─────────────────────────────────────────────────────────────────
     @PostMapping
-    public ResponseEntity<?> createOrder(@RequestBody Map<String, Object> body, Authentication auth) {
-        Long supplierId = Long.parseLong(body.get("supplierId").toString());
-        LocalDate orderDate = body.containsKey("orderDate")
-                ? LocalDate.parse(body.get("orderDate").toString()) : null;
-        LocalDate expectedDelivery = body.containsKey("expectedDeliveryDate")
-                ? LocalDate.parse(body.get("expectedDeliveryDate").toString()) : null;
-        String remarks = body.getOrDefault("remarks", "").toString();
+    public ResponseEntity<?> createOrder(@RequestBody Dtos.CreatePoRequest body, Authentication auth) {
+        PurchaseOrder created = workflowMetrics.record("create", () -> poService.createPurchaseOrder(
+                body.supplierId(), body.orderDate(), body.expectedDeliveryDate(),
+                body.remarks() != null ? body.remarks() : "", body.items(), auth.getName()),
+                PurchaseOrder::getStatus);
+        return ResponseEntity.status(HttpStatus.CREATED).body(PurchaseOrderSummary.from(created));
+    }
 
-        @SuppressWarnings("unchecked")
-        List<Map<String, Object>> items = (List<Map<String, Object>>) body.get("items");
+    // ── BULK CREATE ────────────────────────────────────────────────────────────
+    @PostMapping(path = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> bulkCreate(HttpServletRequest request, Authentication auth) throws IOException {
+        List<BulkPoResult> results = bulkService.createFromStream(request.getInputStream(), auth.getName());
+        return ResponseEntity.ok(bulkService.summarize(results));
+    }
 
-        PurchaseOrder created = poService.createPurchaseOrder(
-                supplierId, orderDate, expectedDelivery, remarks, items, auth.getName());
-        return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(created));
+    // ── BULK SUBMIT / APPROVE / CANCEL ─────────────────────────────────────────
+    @PostMapping("/bulk/submit")
+    public ResponseEntity<?> bulkSubmit(@RequestBody Dtos.BulkTransitionRequest body, Authentication auth) {
+        return bulkTransition("bulk-submit", PurchaseOrderBulkTransitionService.Transition.SUBMIT, body, auth);
+    }
+
+    @PostMapping("/bulk/approve")
+    public ResponseEntity<?> bulkApprove(@RequestBody Dtos.BulkTransitionRequest body, Authentication auth) {
+        return bulkTransition("bulk-approve", PurchaseOrderBulkTransitionService.Transition.APPROVE, body, auth);
+    }
+
+    @PostMapping("/bulk/cancel")
+    public ResponseEntity<?> bulkCancel(@RequestBody Dtos.BulkTransitionRequest body, Authentication auth) {
+        return bulkTransition("bulk-cancel", PurchaseOrderBulkTransitionService.Transition.CANCEL, body, auth);
+    }
+
+    private ResponseEntity<?> bulkTransition(String operation, PurchaseOrderBulkTransitionService.Transition transition,
+                                             Dtos.BulkTransitionRequest body, Authentication auth) {
+        String reason = body.reason() != null ? body.reason() : "No reason";
+        List<BulkPoResult> results = workflowMetrics.record(operation,
+                () -> bulkTransitionService.apply(transition, body.ids(), reason, auth.getName()), r -> null);
+        return ResponseEntity.ok(bulkTransitionService.summarize(results));
     }
 
     // ── SUBMIT FOR APPROVAL ────────────────────────────────────────────────────
     @PostMapping("/{id}/submit")
     public ResponseEntity<?> submit(@PathVariable Long id, Authentication auth) {
-        return ResponseEntity.ok(toResponse(poService.submitForApproval(id, auth.getName())));
+        return ResponseEntity.ok(PurchaseOrderSummary.from(workflowMetrics.record("submit",
+                () -> poService.submitForApproval(id, auth.getName()), PurchaseOrder::getStatus)));
     }
 
     // ── APPROVE ────────────────────────────────────────────────────────────────
     @PostMapping("/{id}/approve")
     public ResponseEntity<?> approve(@PathVariable Long id, Authentication auth) {
-        return ResponseEntity.ok(toResponse(poService.approvePurchaseOrder(id, auth.getName())));
+        return ResponseEntity.ok(PurchaseOrderSummary.from(workflowMetrics.record("approve",
+                () -> poService.approvePurchaseOrder(id, auth.getName()), PurchaseOrder::getStatus)));
     }
 
     // ── REJECT ─────────────────────────────────────────────────────────────────
     @PostMapping("/{id}/reject")
     public ResponseEntity<?> reject(@PathVariable Long id,
-                                     @RequestBody Map<String, String> body,
+                                     @RequestBody Dtos.ReasonRequest body,
                                      Authentication auth) {
-        return ResponseEntity.ok(toResponse(
-                poService.rejectPurchaseOrder(id, body.getOrDefault("reason", "No reason"), auth.getName())));
+        return ResponseEntity.ok(PurchaseOrderSummary.from(workflowMetrics.record("reject",
+                () -> poService.rejectPurchaseOrder(id, reason(body), auth.getName()), PurchaseOrder::getStatus)));
     }
 
     // ── RECEIVE GOODS ──────────────────────────────────────────────────────────
     @PostMapping("/{id}/receive")
     public ResponseEntity<?> receive(@PathVariable Long id,
-                                      @RequestBody Map<String, Object> body,
+                                      @RequestBody Dtos.ReceiveRequest body,
                                       Authentication auth) {
-        LocalDate receiptDate = body.containsKey("receiptDate")
-                ? LocalDate.parse(body.get("receiptDate").toString()) : null;
-        BigDecimal amount = new BigDecimal(body.get("receivedAmount").toString());
-        String notes = body.getOrDefault("notes", "").toString();
-        PurchaseReceipt receipt = poService.receiveGoods(id, receiptDate, amount, notes, auth.getName());
-        return ResponseEntity.status(HttpStatus.CREATED).body(toReceiptResponse(receipt));
+        PurchaseReceipt receipt = workflowMetrics.record("receive", () -> poService.receiveGoods(id,
+                body.receiptDate(), body.receivedAmount(), body.notes() != null ? body.notes() : "", auth.getName()),
+                PurchaseReceipt::getPurchaseOrderStatus);
+        return ResponseEntity.status(HttpStatus.CREATED).body(Dtos.ReceiptResponse.from(receipt));
     }
 
     // ── POST INVOICE ───────────────────────────────────────────────────────────
     @PostMapping("/{id}/invoice")
     public ResponseEntity<?> postInvoice(@PathVariable Long id,
-                                          @RequestBody Map<String, Object> body,
+                                          @RequestBody Dtos.InvoiceRequest body,
                                           Authentication auth) {
-        String invoiceNumber = body.get("invoiceNumber").toString();
-        LocalDate invoiceDate = LocalDate.parse(body.get("invoiceDate").toString());
-        LocalDate dueDate = body.containsKey("dueDate")
-                ? LocalDate.parse(body.get("dueDate").toString()) : null;
-        BigDecimal amount = new BigDecimal(body.get("invoiceAmount").toString());
-        String notes = body.getOrDefault("notes", "").toString();
-        PurchaseInvoice invoice = poService.postInvoice(
-                id, invoiceNumber, invoiceDate, dueDate, amount, notes, auth.getName());
-        return ResponseEntity.status(HttpStatus.CREATED).body(toInvoiceResponse(invoice));
+        PurchaseInvoice invoice = workflowMetrics.record("invoice", () -> poService.postInvoice(id,
+                body.invoiceNumber(), body.invoiceDate(), body.dueDate(), body.invoiceAmount(),
+                body.notes() != null ? body.notes() : "", auth.getName()),
+                PurchaseInvoice::getPurchaseOrderStatus);
+        return ResponseEntity.status(HttpStatus.CREATED).body(Dtos.InvoiceResponse.from(invoice));
     }
 
     // ── CANCEL ─────────────────────────────────────────────────────────────────
     @PostMapping("/{id}/cancel")
     public ResponseEntity<?> cancel(@PathVariable Long id,
-                                     @RequestBody Map<String, String> body,
+                                     @RequestBody Dtos.ReasonRequest body,
                                      Authentication auth) {
-        return ResponseEntity.ok(toResponse(
-                poService.cancelPurchaseOrder(id, body.getOrDefault("reason", "No reason"), auth.getName())));
+        return ResponseEntity.ok(PurchaseOrderSummary.from(workflowMetrics.record("cancel",
+                () -> poService.cancelPurchaseOrder(id, reason(body), auth.getName()), PurchaseOrder::getStatus)));
     }
 
     // ── KPI DASHBOARD ──────────────────────────────────────────────────────────
     @GetMapping("/kpi/dashboard")
-    public ResponseEntity<?> dashboard() {
-        return ResponseEntity.ok(poService.getKpiDashboard());
+    public ResponseEntity<?> dashboard(@RequestParam(defaultValue = "false") boolean fresh) {
+        return ResponseEntity.ok(poService.getKpiDashboard(fresh));
     }
 
     // ── AUDIT LOG FOR PO ───────────────────────────────────────────────────────
@@ -140,75 +237,12 @@ public class PurchaseOrderController {
     }
 
     // ── RESPONSE MAPPERS ───────────────────────────────────────────────────────
-    private Map<String, Object> toResponse(PurchaseOrder po) {
-        Map<String, Object> m = new LinkedHashMap<>();
-        m.put("id", po.getId());
-        m.put("poNumber", po.getPoNumber());
-        m.put("supplierId", po.getSupplier().getId());
-        m.put("supplierName", po.getSupplier().getSupplierName());
-        m.put("supplierCode", po.getSupplier().getSupplierCode());
-        m.put("status", po.getStatus());
-        m.put("orderDate", po.getOrderDate());
-        m.put("expectedDeliveryDate", po.getExpectedDeliveryDate());
-        m.put("grandTotal", po.getGrandTotal());
-        m.put("totalReceived", po.getTotalReceived());
-        m.put("totalBilled", po.getTotalBilled());
-        m.put("billedPercent", po.getBilledPercent());
-        m.put("createdBy", po.getCreatedBy().getFullName());
-        m.put("approvedBy", po.getApprovedBy() != null ? po.getApprovedBy().getFullName() : null);
-        m.put("approvedAt", po.getApprovedAt());
-        m.put("remarks", po.getRemarks());
-        m.put("createdAt", po.getCreatedAt());
-        m.put("updatedAt", po.getUpdatedAt());
-        m.put("version", po.getVersion());
-        if (po.getItems() != null) {
-            m.put("items", po.getItems().stream().map(i -> {
-                Map<String, Object> item = new LinkedHashMap<>();
-                item.put("id", i.getId());
-                item.put("itemDescription", i.getItemDescription());
-                item.put("itemCode", i.getItemCode());
-                item.put("unit", i.getUnit());
-                item.put("orderedQty", i.getOrderedQty());
-                item.put("receivedQty", i.getReceivedQty());
-                item.put("unitPrice", i.getUnitPrice());
-                item.put("lineTotal", i.getLineTotal());
-                return item;
-            }).collect(Collectors.toList()));
-        }
-        return m;
-    }
-
-    private Map<String, Object> toPageResponse(Page<PurchaseOrder> page) {
-        Map<String, Object> result = new LinkedHashMap<>();
-        result.put("content", page.getContent().stream().map(this::toResponse).collect(Collectors.toList()));
-        result.put("totalElements", page.getTotalElements());
-        result.put("totalPages", page.getTotalPages());
-        result.put("currentPage", page.getNumber());
-        result.put("pageSize", page.getSize());
-        return result;
-    }
-
-    private Map<String, Object> toReceiptResponse(PurchaseReceipt r) {
-        Map<String, Object> m = new LinkedHashMap<>();
-        m.put("id", r.getId());
-        m.put("receiptNumber", r.getReceiptNumber());
-        m.put("receiptDate", r.getReceiptDate());
-        m.put("receivedAmount", r.getReceivedAmount());
-        m.put("receivedBy", r.getReceivedBy().getFullName());
-        m.put("notes", r.getNotes() != null ? r.getNotes() : "");
-        m.put("createdAt", r.getCreatedAt());
-        return m;
-    }
-
-    private Map<String, Object> toInvoiceResponse(PurchaseInvoice inv) {
-        Map<String, Object> m = new LinkedHashMap<>();
-        m.put("id", inv.getId());
-        m.put("invoiceNumber", inv.getInvoiceNumber());
-        m.put("invoiceDate", inv.getInvoiceDate());
-        m.put("invoiceAmount", inv.getInvoiceAmount());
-        m.put("paymentStatus", inv.getPaymentStatus());
-        m.put("postedBy", inv.getPostedBy().getFullName());
-        m.put("createdAt", inv.getCreatedAt());
-        return m;
+    private Dtos.PageResponse<PurchaseOrderSummary> toPageResponse(Page<PurchaseOrderSummary> page) {
+        return new Dtos.PageResponse<>(page.getContent(), page.getTotalElements(), page.getTotalPages(),
+                page.getNumber(), page.getSize());
+    }
+
+    private static String reason(Dtos.ReasonRequest body) {
+        return body != null && body.reason() != null ? body.reason() : "No reason";
     }
 }
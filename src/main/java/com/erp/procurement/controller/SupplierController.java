@@ -2,20 +2,24 @@ package com.erp.procurement.controller;
 
 import com.erp.procurement.entity.Supplier;
 import com.erp.procurement.repository.SupplierRepository;
+import com.erp.procurement.service.PurchaseOrderSearchIndex;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Objects;
 
 @RestController
 @RequestMapping("/api/suppliers")
 public class SupplierController {
 
     private final SupplierRepository supplierRepository;
+    private final PurchaseOrderSearchIndex searchIndex;
 
-    public SupplierController(SupplierRepository supplierRepository) {
+    public SupplierController(SupplierRepository supplierRepository, PurchaseOrderSearchIndex searchIndex) {
         this.supplierRepository = supplierRepository;
+        this.searchIndex = searchIndex;
     }
 
     @GetMapping
@@ -41,13 +45,17 @@ public class SupplierController {
     @PutMapping("/{id}")
     public ResponseEntity<Supplier> update(@PathVariable Long id, @RequestBody Supplier updated) {
         return supplierRepository.findById(id).map(s -> {
+            boolean renamed = !Objects.equals(s.getSupplierName(), updated.getSupplierName());
             s.setSupplierName(updated.getSupplierName());
             s.setContactPerson(updated.getContactPerson());
             s.setEmail(updated.getEmail());
             s.setPhone(updated.getPhone());
             s.setAddress(updated.getAddress());
             s.setPaymentTerms(updated.getPaymentTerms());
-            return ResponseEntity.ok(supplierRepository.save(s));
+            Supplier saved = supplierRepository.save(s);
+            // Supplier name is part of every one of its POs' search text
+            if (renamed) searchIndex.reindexSupplier(id);
+            return ResponseEntity.ok(saved);
         }).orElse(ResponseEntity.notFound().build());
     }
 }
@@ -0,0 +1,131 @@
+package com.erp.procurement.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money as a scaled {@code long} in minor units (cents, {@link #SCALE} = 2, matching the
+ * {@code numeric(15,2)} amount columns). Totals and percentages are computed on longs; amounts
+ * are converted from and to {@code BigDecimal} once, where they enter from a request or row and
+ * where they are bound to a statement or entity.
+ *
+ * <p>Rounding reproduces what PostgreSQL did with the exact {@code BigDecimal} products the
+ * create paths used to send: each line total and the grand total are rounded HALF_UP to cents
+ * from the exact sum of {@code qty × price}. Values that do not fit (more decimals than the
+ * quantity/price columns allow, or a product beyond {@code long} range) fall back to
+ * {@code BigDecimal} arithmetic with the same rounding.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+    static final int QTY_SCALE = 3;
+    static final int PRICE_SCALE = 4;
+    static final int LINE_SCALE = QTY_SCALE + PRICE_SCALE;
+
+    private static final long NO_FIT = Long.MIN_VALUE;
+    private static final int MAX_DOUBLE_DIGITS = 15;
+    private static final long[] POW10 = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+            1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L,
+            10_000_000_000_000L, 100_000_000_000_000L, 1_000_000_000_000_000L,
+            10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L};
+
+    private Money() {}
+
+    /**
+     * Minor units of {@code amount}, rounded HALF_UP; null is zero. Amounts read from the
+     * {@code numeric(15,2)} columns have at most 15 digits and scale 2, so they are converted
+     * through {@code double} without allocating: the value is within 2<sup>50</sup> minor units,
+     * and scaling it back lands well within half a unit of the exact result.
+     */
+    public static long toMinor(BigDecimal amount) {
+        if (amount == null) return 0;
+        int scale = amount.scale();
+        if (scale >= 0 && scale <= SCALE && amount.precision() <= MAX_DOUBLE_DIGITS) {
+            return Math.round(amount.doubleValue() * POW10[scale]) * POW10[SCALE - scale];
+        }
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal fromMinor(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    /** {@code qty × price} in minor units. */
+    public static long lineTotal(BigDecimal qty, BigDecimal price) {
+        long q = unscaled(qty, QTY_SCALE);
+        long p = unscaled(price, PRICE_SCALE);
+        if (q != NO_FIT && p != NO_FIT) {
+            long product = q * p;
+            if (Math.multiplyHigh(q, p) == (product >> 63)) return round(product, LINE_SCALE);
+        }
+        return toMinor(qty.multiply(price));
+    }
+
+    /** {@code part / whole} as a whole percentage, rounded HALF_UP; zero when {@code whole} is zero. */
+    public static int percent(long part, long whole) {
+        if (whole == 0) return 0;
+        long numerator = Math.multiplyExact(part, 100L);
+        long quotient = numerator / whole;
+        long remainder = Math.abs(numerator % whole);
+        if (remainder != 0 && remainder >= Math.abs(whole) - remainder) {
+            quotient += (numerator ^ whole) < 0 ? -1 : 1;
+        }
+        return (int) quotient;
+    }
+
+    // Unscaled value at the given scale, or NO_FIT if that would lose digits or overflow a long
+    private static long unscaled(BigDecimal value, int scale) {
+        if (value.scale() > scale || value.precision() - value.scale() + scale > 18) return NO_FIT;
+        return value.movePointRight(scale).longValueExact();
+    }
+
+    // HALF_UP (away from zero on a tie) from fromScale down to SCALE
+    private static long round(long value, int fromScale) {
+        long divisor = POW10[fromScale - SCALE];
+        long quotient = value / divisor;
+        long remainder = Math.abs(value % divisor);
+        if (remainder >= divisor - remainder) quotient += value < 0 ? -1 : 1;
+        return quotient;
+    }
+
+    /**
+     * Running grand total of an order's lines. The sum is kept exact at qty × price scale and
+     * rounded once in {@link #minor()}, so it can differ by a cent from the sum of the rounded
+     * line totals, as the persisted values always have.
+     */
+    public static final class Total {
+
+        private long exact;
+        private BigDecimal overflow;   // takes over once a line or the running sum leaves long range
+
+        /** Adds one line and returns its own total in minor units. */
+        public long addLine(BigDecimal qty, BigDecimal price) {
+            long q = unscaled(qty, QTY_SCALE);
+            long p = unscaled(price, PRICE_SCALE);
+            if (q != NO_FIT && p != NO_FIT) {
+                long product = q * p;
+                if (Math.multiplyHigh(q, p) == (product >> 63)) {
+                    long sum = exact + product;
+                    if (overflow == null && ((exact ^ sum) & (product ^ sum)) >= 0) {
+                        exact = sum;
+                    } else {
+                        addExact(BigDecimal.valueOf(product, LINE_SCALE));
+                    }
+                    return round(product, LINE_SCALE);
+                }
+            }
+            BigDecimal line = qty.multiply(price);
+            addExact(line);
+            return toMinor(line);
+        }
+
+        private void addExact(BigDecimal line) {
+            overflow = (overflow != null ? overflow : BigDecimal.valueOf(exact, LINE_SCALE)).add(line);
+        }
+
+        public long minor() {
+            return overflow != null ? toMinor(overflow) : round(exact, LINE_SCALE);
+        }
+    }
+}
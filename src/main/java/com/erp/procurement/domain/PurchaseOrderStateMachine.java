@@ -0,0 +1,152 @@
+package com.erp.procurement.domain;
+
+import com.erp.procurement.enums.PurchaseOrderAction;
+import com.erp.procurement.enums.PurchaseOrderStatus;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.erp.procurement.enums.PurchaseOrderAction.*;
+import static com.erp.procurement.enums.PurchaseOrderStatus.*;
+
+/**
+ * The PO workflow as a precomputed table. Each status maps to a bitmask of the actions its state
+ * permits; amount guards (nothing left to receive or bill, goods already received) clear bits
+ * from that mask, and the result indexes a table of shared immutable sets. A lookup is one array
+ * read and a few comparisons on minor units, with no allocation, so every row of a list page can
+ * carry its allowed actions.
+ *
+ * <p>The services and the guarded UPDATEs in {@code PurchaseOrderTotalsRepository} take their
+ * rules from here. RECEIVE and INVOICE have no fixed target: the resulting status follows from
+ * the new totals and is derived in the UPDATE.
+ */
+public final class PurchaseOrderStateMachine {
+
+    private static final PurchaseOrderAction[] ACTIONS = PurchaseOrderAction.values();
+
+    /** Bit {@code 1 << action.ordinal()} is set if the status permits the action, indexed by status ordinal. */
+    private static final int[] ALLOWED = new int[PurchaseOrderStatus.values().length];
+
+    private static final EnumMap<PurchaseOrderAction, PurchaseOrderStatus> TARGET = new EnumMap<>(PurchaseOrderAction.class);
+
+    /** Every subset of actions as a shared unmodifiable set, indexed by bitmask. */
+    @SuppressWarnings("unchecked")
+    private static final Set<PurchaseOrderAction>[] SETS = new Set[1 << ACTIONS.length];
+
+    static {
+        allow(DRAFT, SUBMIT, CANCEL);
+        allow(SUBMITTED, APPROVE, REJECT, CANCEL);
+        allow(APPROVED, RECEIVE, INVOICE, CANCEL);
+        allow(TO_RECEIVE, RECEIVE, INVOICE, CANCEL);
+        allow(TO_BILL, INVOICE, CANCEL);
+
+        TARGET.put(SUBMIT, SUBMITTED);
+        TARGET.put(APPROVE, APPROVED);
+        TARGET.put(REJECT, DRAFT);
+        TARGET.put(CANCEL, CANCELLED);
+
+        for (int mask = 0; mask < SETS.length; mask++) {
+            EnumSet<PurchaseOrderAction> set = EnumSet.noneOf(PurchaseOrderAction.class);
+            for (PurchaseOrderAction action : ACTIONS) {
+                if ((mask & bit(action)) != 0) set.add(action);
+            }
+            SETS[mask] = Collections.unmodifiableSet(set);
+        }
+    }
+
+    private PurchaseOrderStateMachine() {}
+
+    private static void allow(PurchaseOrderStatus status, PurchaseOrderAction... actions) {
+        for (PurchaseOrderAction action : actions) ALLOWED[status.ordinal()] |= bit(action);
+    }
+
+    private static int bit(PurchaseOrderAction action) {
+        return 1 << action.ordinal();
+    }
+
+    /** Whether the status alone permits the action, ignoring amount guards. */
+    public static boolean permits(PurchaseOrderStatus status, PurchaseOrderAction action) {
+        return (ALLOWED[status.ordinal()] & bit(action)) != 0;
+    }
+
+    /** Status after the action, or null for RECEIVE and INVOICE (derived from the new totals). */
+    public static PurchaseOrderStatus target(PurchaseOrderAction action) {
+        return TARGET.get(action);
+    }
+
+    /**
+     * Actions the PO's state and amounts permit, from totals already in minor units (see
+     * {@link Money#toMinor}). The caller's role is still checked by the action itself.
+     */
+    public static Set<PurchaseOrderAction> allowedActions(PurchaseOrderStatus status,
+                                                         long receivedMinor, long billedMinor, long grandMinor) {
+        return SETS[mask(status, receivedMinor, billedMinor, grandMinor)];
+    }
+
+    private static int mask(PurchaseOrderStatus status, long receivedMinor, long billedMinor, long grandMinor) {
+        int blocked = (receivedMinor >= grandMinor ? bit(RECEIVE) : 0)
+                | (billedMinor >= grandMinor ? bit(INVOICE) : 0)
+                | (receivedMinor > 0 ? bit(CANCEL) : 0);
+        return ALLOWED[status.ordinal()] & ~blocked;
+    }
+
+    /**
+     * Throws with the reason the action is not allowed. Only the status is checked; the amount
+     * guards are enforced where the amounts change (the guarded UPDATEs and {@link #requireCancellable}).
+     */
+    public static void require(PurchaseOrderStatus status, PurchaseOrderAction action) {
+        String reason = rejection(status, action);
+        if (reason != null) throw new RuntimeException(reason);
+    }
+
+    /** Cancel additionally needs nothing to have been received. */
+    public static void requireCancellable(PurchaseOrderStatus status, BigDecimal totalReceived) {
+        String reason = cancelRejection(status, totalReceived);
+        if (reason != null) throw new RuntimeException(reason);
+    }
+
+    public static String cancelRejection(PurchaseOrderStatus status, BigDecimal totalReceived) {
+        String reason = rejection(status, CANCEL);
+        if (reason != null) return reason;
+        return totalReceived != null && totalReceived.signum() > 0 ? "Cannot cancel a PO with goods already received" : null;
+    }
+
+    /** Null if the status permits the action, otherwise the message the API reports. */
+    public static String rejection(PurchaseOrderStatus status, PurchaseOrderAction action) {
+        if (permits(status, action)) return null;
+        return switch (action) {
+            case SUBMIT -> "Cannot transition to SUBMITTED. Current: " + status + ", expected: " + sources(SUBMIT);
+            case APPROVE -> "Cannot transition to APPROVED. Current: " + status + ", expected: " + sources(APPROVE);
+            case REJECT -> "Only " + sources(REJECT) + " POs can be rejected";
+            case RECEIVE -> "Goods can only be received for " + sources(RECEIVE) + " orders. Current: " + status;
+            case INVOICE -> "Invoice can only be posted for " + sources(INVOICE) + " orders";
+            case CANCEL -> "Cannot cancel a " + status + " purchase order";
+        };
+    }
+
+    /** Statuses from which the action is permitted, in declaration order. */
+    public static Set<PurchaseOrderStatus> sourceStatuses(PurchaseOrderAction action) {
+        EnumSet<PurchaseOrderStatus> sources = EnumSet.noneOf(PurchaseOrderStatus.class);
+        for (PurchaseOrderStatus status : PurchaseOrderStatus.values()) {
+            if (permits(status, action)) sources.add(status);
+        }
+        return sources;
+    }
+
+    /** {@link #sourceStatuses} as a SQL literal list, e.g. {@code 'APPROVED', 'TO_RECEIVE'}. */
+    public static String sqlSourceStatuses(PurchaseOrderAction action) {
+        return sourceStatuses(action).stream().map(s -> "'" + s.name() + "'").collect(Collectors.joining(", "));
+    }
+
+    private static String sources(PurchaseOrderAction action) {
+        Set<PurchaseOrderStatus> sources = sourceStatuses(action);
+        if (sources.size() <= 1) return sources.stream().map(Enum::name).collect(Collectors.joining());
+        String all = sources.stream().map(Enum::name).collect(Collectors.joining(", "));
+        int last = all.lastIndexOf(", ");
+        return all.substring(0, last) + (sources.size() > 2 ? ", or " : " or ") + all.substring(last + 2);
+    }
+}
@@ -0,0 +1,31 @@
+package com.erp.procurement.dto;
+
+import com.erp.procurement.enums.PurchaseOrderStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one purchase order in a bulk request, identified by its position in the input.
+ * {@code status} is CREATED, the status a bulk transition moved the PO to, or FAILED.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkPoResult(int index, String status, Long id, String poNumber, String error) {
+
+    public static final String CREATED = "CREATED";
+    public static final String FAILED = "FAILED";
+
+    public static BulkPoResult created(int index, long id, String poNumber) {
+        return new BulkPoResult(index, CREATED, id, poNumber, null);
+    }
+
+    public static BulkPoResult transitioned(int index, long id, String poNumber, PurchaseOrderStatus status) {
+        return new BulkPoResult(index, status.name(), id, poNumber, null);
+    }
+
+    public static BulkPoResult failed(int index, String error) {
+        return new BulkPoResult(index, FAILED, null, null, error);
+    }
+
+    public static BulkPoResult failed(int index, Long id, String error) {
+        return new BulkPoResult(index, FAILED, id, null, error);
+    }
+}
@@ -1,15 +1,16 @@
 package com.erp.procurement.dto;
 
-import com.erp.procurement.enums.PurchaseOrderStatus;
+import com.erp.procurement.entity.PurchaseInvoice;
+import com.erp.procurement.entity.PurchaseReceipt;
+
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
 /**
- * Container class for all DTO definitions.
- * These are used for documentation/reference purposes.
- * The controllers use Map<String, Object> directly for flexibility.
+ * Container class for request/response DTOs. The purchase order endpoints bind their bodies to
+ * the records below; single-PO responses use {@link PurchaseOrderSummary}.
  */
 public class Dtos {
 
@@ -42,42 +43,77 @@ public class Dtos {
     }
 
     // ─── Purchase Order ───────────────────────────────────
-    public static class CreatePoRequest {
-        private Long supplierId;
-        private LocalDate orderDate;
-        private LocalDate expectedDeliveryDate;
-        private String remarks;
-        private List<ItemRequest> items;
-        public Long getSupplierId() { return supplierId; }
-        public void setSupplierId(Long supplierId) { this.supplierId = supplierId; }
-        public LocalDate getOrderDate() { return orderDate; }
-        public void setOrderDate(LocalDate orderDate) { this.orderDate = orderDate; }
-        public LocalDate getExpectedDeliveryDate() { return expectedDeliveryDate; }
-        public void setExpectedDeliveryDate(LocalDate v) { this.expectedDeliveryDate = v; }
-        public String getRemarks() { return remarks; }
-        public void setRemarks(String remarks) { this.remarks = remarks; }
-        public List<ItemRequest> getItems() { return items; }
-        public void setItems(List<ItemRequest> items) { this.items = items; }
+    public record CreatePoRequest(
+            Long supplierId,
+            LocalDate orderDate,
+            LocalDate expectedDeliveryDate,
+            String remarks,
+            List<ItemRequest> items) {}
+
+    public record ItemRequest(
+            String itemDescription,
+            String itemCode,
+            String unit,
+            BigDecimal orderedQty,
+            BigDecimal unitPrice) {}
+
+    /** Body of reject and cancel. */
+    public record ReasonRequest(String reason) {}
+
+    /** Body of the bulk submit/approve/cancel endpoints; {@code reason} is used by cancel only. */
+    public record BulkTransitionRequest(List<Long> ids, String reason) {}
+
+    public record ReceiveRequest(LocalDate receiptDate, BigDecimal receivedAmount, String notes) {}
+
+    public record InvoiceRequest(
+            String invoiceNumber,
+            LocalDate invoiceDate,
+            LocalDate dueDate,
+            BigDecimal invoiceAmount,
+            String notes) {}
+
+    public record ReceiptResponse(
+            Long id,
+            String receiptNumber,
+            LocalDate receiptDate,
+            BigDecimal receivedAmount,
+            String receivedBy,
+            String notes,
+            LocalDateTime createdAt) {
+
+        public static ReceiptResponse from(PurchaseReceipt r) {
+            return new ReceiptResponse(r.getId(), r.getReceiptNumber(), r.getReceiptDate(), r.getReceivedAmount(),
+                    r.getReceivedBy().getFullName(), r.getNotes() != null ? r.getNotes() : "", r.getCreatedAt());
+        }
     }
 
-    public static class ItemRequest {
-        private String itemDescription;
-        private String itemCode;
-        private String unit;
-        private BigDecimal orderedQty;
-        private BigDecimal unitPrice;
-        public String getItemDescription() { return itemDescription; }
-        public void setItemDescription(String v) { this.itemDescription = v; }
-        public String getItemCode() { return itemCode; }
-        public void setItemCode(String itemCode) { this.itemCode = itemCode; }
-        public String getUnit() { return unit; }
-        public void setUnit(String unit) { this.unit = unit; }
-        public BigDecimal getOrderedQty() { return orderedQty; }
-        public void setOrderedQty(BigDecimal v) { this.orderedQty = v; }
-        public BigDecimal getUnitPrice() { return unitPrice; }
-        public void setUnitPrice(BigDecimal v) { this.unitPrice = v; }
+    public record InvoiceResponse(
+            Long id,
+            String invoiceNumber,
+            LocalDate invoiceDate,
+            BigDecimal invoiceAmount,
+            String paymentStatus,
+            String postedBy,
+            LocalDateTime createdAt) {
+
+        public static InvoiceResponse from(PurchaseInvoice inv) {
+            return new InvoiceResponse(inv.getId(), inv.getInvoiceNumber(), inv.getInvoiceDate(),
+                    inv.getInvoiceAmount(), inv.getPaymentStatus(), inv.getPostedBy().getFullName(), inv.getCreatedAt());
+        }
     }
 
+    public record PageResponse<T>(
+            List<T> content,
+            long totalElements,
+            int totalPages,
+            int currentPage,
+            int pageSize) {}
+
+    // ─── Search ───────────────────────────────────────────
+    public record SearchHit(double score, PurchaseOrderSummary order) {}
+
+    public record SearchResponse(String query, List<SearchHit> hits, double tookMillis) {}
+
     // ─── KPI Dashboard ────────────────────────────────────
     public static class DashboardResponse {
         private long totalOrders;
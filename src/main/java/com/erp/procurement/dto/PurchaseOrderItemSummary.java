@@ -0,0 +1,24 @@
+package com.erp.procurement.dto;
+
+import com.erp.procurement.entity.PurchaseOrderItem;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.math.BigDecimal;
+
+/** Flat view of a PO line, loaded for a whole page of orders in one query. */
+public record PurchaseOrderItemSummary(
+        @JsonIgnore Long purchaseOrderId,
+        Long id,
+        String itemDescription,
+        String itemCode,
+        String unit,
+        BigDecimal orderedQty,
+        BigDecimal receivedQty,
+        BigDecimal unitPrice,
+        BigDecimal lineTotal) {
+
+    public static PurchaseOrderItemSummary from(PurchaseOrderItem i) {
+        return new PurchaseOrderItemSummary(i.getPurchaseOrder().getId(), i.getId(), i.getItemDescription(),
+                i.getItemCode(), i.getUnit(), i.getOrderedQty(), i.getReceivedQty(), i.getUnitPrice(), i.getLineTotal());
+    }
+}
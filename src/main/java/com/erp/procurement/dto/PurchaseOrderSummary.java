@@ -0,0 +1,92 @@
+package com.erp.procurement.dto;
+
+import com.erp.procurement.domain.Money;
+import com.erp.procurement.domain.PurchaseOrderStateMachine;
+import com.erp.procurement.entity.PurchaseOrder;
+import com.erp.procurement.enums.PurchaseOrderAction;
+import com.erp.procurement.enums.PurchaseOrderStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Flat, read-only view of a purchase order for list screens. Built directly by a JPQL
+ * constructor expression, so no managed entity, dirty-checking snapshot or lazy proxy is
+ * created. {@code items} is null when the caller asked for headers only. Single-PO endpoints
+ * build the same shape from a loaded entity via {@link #from(PurchaseOrder)}. {@code allowedActions}
+ * comes from the {@link PurchaseOrderStateMachine} table as each row is built, so a list page needs
+ * no extra query to decide which workflow buttons to show. The totals are converted to minor units
+ * once per row and shared by {@code billedPercent} and {@code allowedActions}.
+ */
+public record PurchaseOrderSummary(
+        Long id,
+        String poNumber,
+        Long supplierId,
+        String supplierName,
+        String supplierCode,
+        PurchaseOrderStatus status,
+        LocalDate orderDate,
+        LocalDate expectedDeliveryDate,
+        BigDecimal grandTotal,
+        BigDecimal totalReceived,
+        BigDecimal totalBilled,
+        int billedPercent,
+        Set<PurchaseOrderAction> allowedActions,
+        String createdBy,
+        String approvedBy,
+        LocalDateTime approvedAt,
+        String remarks,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        Long version,
+        @JsonInclude(JsonInclude.Include.NON_NULL) List<PurchaseOrderItemSummary> items) {
+
+    /** Constructor used by the JPQL projection in {@code PurchaseOrderRepository}. */
+    public PurchaseOrderSummary(Long id, String poNumber, Long supplierId, String supplierName, String supplierCode,
+                                PurchaseOrderStatus status, LocalDate orderDate, LocalDate expectedDeliveryDate,
+                                BigDecimal grandTotal, BigDecimal totalReceived, BigDecimal totalBilled,
+                                String createdBy, String approvedBy, LocalDateTime approvedAt, String remarks,
+                                LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+        this(id, poNumber, supplierId, supplierName, supplierCode, status, orderDate, expectedDeliveryDate,
+                grandTotal, totalReceived, totalBilled, Money.toMinor(grandTotal), Money.toMinor(totalReceived),
+                Money.toMinor(totalBilled), createdBy, approvedBy, approvedAt, remarks, createdAt, updatedAt, version);
+    }
+
+    private PurchaseOrderSummary(Long id, String poNumber, Long supplierId, String supplierName, String supplierCode,
+                                 PurchaseOrderStatus status, LocalDate orderDate, LocalDate expectedDeliveryDate,
+                                 BigDecimal grandTotal, BigDecimal totalReceived, BigDecimal totalBilled,
+                                 long grandMinor, long receivedMinor, long billedMinor,
+                                 String createdBy, String approvedBy, LocalDateTime approvedAt, String remarks,
+                                 LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+        this(id, poNumber, supplierId, supplierName, supplierCode, status, orderDate, expectedDeliveryDate,
+                grandTotal, totalReceived, totalBilled, Money.percent(billedMinor, grandMinor),
+                PurchaseOrderStateMachine.allowedActions(status, receivedMinor, billedMinor, grandMinor),
+                createdBy, approvedBy, approvedAt, remarks, createdAt, updatedAt, version, null);
+    }
+
+    public static PurchaseOrderSummary from(PurchaseOrder po) {
+        List<PurchaseOrderItemSummary> items = po.getItems() == null ? null
+                : po.getItems().stream().map(PurchaseOrderItemSummary::from).toList();
+        long grandMinor = Money.toMinor(po.getGrandTotal());
+        long receivedMinor = Money.toMinor(po.getTotalReceived());
+        long billedMinor = Money.toMinor(po.getTotalBilled());
+        return new PurchaseOrderSummary(po.getId(), po.getPoNumber(), po.getSupplier().getId(),
+                po.getSupplier().getSupplierName(), po.getSupplier().getSupplierCode(), po.getStatus(),
+                po.getOrderDate(), po.getExpectedDeliveryDate(), po.getGrandTotal(), po.getTotalReceived(),
+                po.getTotalBilled(), Money.percent(billedMinor, grandMinor),
+                PurchaseOrderStateMachine.allowedActions(po.getStatus(), receivedMinor, billedMinor, grandMinor),
+                po.getCreatedBy().getFullName(),
+                po.getApprovedBy() != null ? po.getApprovedBy().getFullName() : null, po.getApprovedAt(),
+                po.getRemarks(), po.getCreatedAt(), po.getUpdatedAt(), po.getVersion(), items);
+    }
+
+    public PurchaseOrderSummary withItems(List<PurchaseOrderItemSummary> items) {
+        return new PurchaseOrderSummary(id, poNumber, supplierId, supplierName, supplierCode, status, orderDate,
+                expectedDeliveryDate, grandTotal, totalReceived, totalBilled, billedPercent, allowedActions, createdBy,
+                approvedBy, approvedAt, remarks, createdAt, updatedAt, version, items);
+    }
+}
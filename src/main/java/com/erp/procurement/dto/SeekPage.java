@@ -0,0 +1,20 @@
+package com.erp.procurement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * One slice of a keyset-paginated listing. {@code nextCursor} is null on the last slice;
+ * {@code totalElements} is only present when a count was requested.
+ */
+public record SeekPage<T>(
+        List<T> content,
+        String nextCursor,
+        boolean hasMore,
+        int pageSize,
+        @JsonInclude(JsonInclude.Include.NON_NULL) Long totalElements,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String countMode) {
+
+    public enum CountMode { NONE, EXACT, ESTIMATED }
+}
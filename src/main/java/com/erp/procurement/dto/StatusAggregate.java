@@ -0,0 +1,9 @@
+package com.erp.procurement.dto;
+
+import com.erp.procurement.enums.PurchaseOrderStatus;
+
+import java.math.BigDecimal;
+
+/** One row of the grouped KPI aggregate: order count and value sums for a status. */
+public record StatusAggregate(PurchaseOrderStatus status, Long count, BigDecimal grandTotal, BigDecimal totalBilled) {
+}
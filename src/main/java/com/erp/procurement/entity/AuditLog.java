@@ -7,7 +7,7 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "audit_logs", indexes = {
         @Index(name = "idx_audit_entity", columnList = "entityType, entityId"),
-        @Index(name = "idx_audit_user",   columnList = "performedBy"),
+        @Index(name = "idx_audit_user_time", columnList = "performedBy, performedAt DESC, id DESC"),
         @Index(name = "idx_audit_time",   columnList = "performedAt")
 })
 public class AuditLog {
@@ -45,7 +45,7 @@ public class AuditLog {
     private String ipAddress;
 
     @PrePersist
-    protected void onCreate() { this.performedAt = LocalDateTime.now(); }
+    protected void onCreate() { if (this.performedAt == null) this.performedAt = LocalDateTime.now(); }
 
     public AuditLog() {}
 
@@ -92,6 +92,8 @@ public class AuditLog {
         public Builder previousStatus(String v)     { log.previousStatus = v; return this; }
         public Builder newStatus(String v)          { log.newStatus = v; return this; }
         public Builder description(String v)        { log.description = v; return this; }
+        public Builder performedAt(LocalDateTime v) { log.performedAt = v; return this; }
+        public Builder ipAddress(String v)          { log.ipAddress = v; return this; }
         public AuditLog build()                     { return log; }
     }
 }
@@ -0,0 +1,79 @@
+package com.erp.procurement.entity;
+
+import com.erp.procurement.enums.AuditAction;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Audit event staged in the same transaction as the business change. Rows are written and
+ * relayed with plain JDBC; the mapping exists so the table is part of the schema.
+ */
+@Entity
+@Table(name = "audit_outbox")
+public class AuditOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private AuditAction action;
+
+    @Column(nullable = false, length = 50)
+    private String entityType;
+
+    @Column
+    private Long entityId;
+
+    @Column(length = 100)
+    private String performedBy;
+
+    @Column(nullable = false)
+    private LocalDateTime performedAt;
+
+    @Column(length = 30)
+    private String previousStatus;
+
+    @Column(length = 30)
+    private String newStatus;
+
+    @Column(length = 1000)
+    private String description;
+
+    @Column(length = 45)
+    private String ipAddress;
+
+    public AuditOutboxEvent() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public AuditAction getAction() { return action; }
+    public void setAction(AuditAction action) { this.action = action; }
+
+    public String getEntityType() { return entityType; }
+    public void setEntityType(String entityType) { this.entityType = entityType; }
+
+    public Long getEntityId() { return entityId; }
+    public void setEntityId(Long entityId) { this.entityId = entityId; }
+
+    public String getPerformedBy() { return performedBy; }
+    public void setPerformedBy(String performedBy) { this.performedBy = performedBy; }
+
+    public LocalDateTime getPerformedAt() { return performedAt; }
+    public void setPerformedAt(LocalDateTime performedAt) { this.performedAt = performedAt; }
+
+    public String getPreviousStatus() { return previousStatus; }
+    public void setPreviousStatus(String previousStatus) { this.previousStatus = previousStatus; }
+
+    public String getNewStatus() { return newStatus; }
+    public void setNewStatus(String newStatus) { this.newStatus = newStatus; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public String getIpAddress() { return ipAddress; }
+    public void setIpAddress(String ipAddress) { this.ipAddress = ipAddress; }
+}
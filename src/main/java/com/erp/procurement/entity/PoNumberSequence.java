@@ -0,0 +1,33 @@
+package com.erp.procurement.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * One row per calendar year holding the next unreserved PO number. Nodes lock the row,
+ * reserve a block and release it, so the table only sees one update per block.
+ */
+@Entity
+@Table(name = "po_number_sequences")
+public class PoNumberSequence {
+
+    @Id
+    @Column(name = "sequence_year")
+    private Integer sequenceYear;
+
+    @Column(nullable = false)
+    private long nextValue;
+
+    public PoNumberSequence() {}
+
+    public PoNumberSequence(Integer sequenceYear, long nextValue) {
+        this.sequenceYear = sequenceYear;
+        this.nextValue = nextValue;
+    }
+
+    // Getters and Setters
+    public Integer getSequenceYear() { return sequenceYear; }
+    public void setSequenceYear(Integer sequenceYear) { this.sequenceYear = sequenceYear; }
+
+    public long getNextValue() { return nextValue; }
+    public void setNextValue(long nextValue) { this.nextValue = nextValue; }
+}
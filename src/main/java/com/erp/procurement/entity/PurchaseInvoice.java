@@ -1,5 +1,6 @@
 package com.erp.procurement.entity;
 
+import com.erp.procurement.enums.PurchaseOrderStatus;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -42,6 +43,10 @@ public class PurchaseInvoice {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    /** Status of the PO right after this document was applied; set by the service, not persisted. */
+    @Transient
+    private PurchaseOrderStatus purchaseOrderStatus;
+
     @PrePersist
     protected void onCreate() { this.createdAt = LocalDateTime.now(); }
 
@@ -52,6 +57,9 @@ public class PurchaseInvoice {
     public void setId(Long id) { this.id = id; }
 
     public PurchaseOrder getPurchaseOrder() { return purchaseOrder; }
+
+    public PurchaseOrderStatus getPurchaseOrderStatus() { return purchaseOrderStatus; }
+    public void setPurchaseOrderStatus(PurchaseOrderStatus purchaseOrderStatus) { this.purchaseOrderStatus = purchaseOrderStatus; }
     public void setPurchaseOrder(PurchaseOrder purchaseOrder) { this.purchaseOrder = purchaseOrder; }
 
     public User getPostedBy() { return postedBy; }
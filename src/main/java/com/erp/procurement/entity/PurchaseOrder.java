@@ -1,10 +1,11 @@
 package com.erp.procurement.entity;
 
+import com.erp.procurement.domain.Money;
 import com.erp.procurement.enums.PurchaseOrderStatus;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -52,6 +53,10 @@ public class PurchaseOrder {
     @Column(nullable = false, precision = 15, scale = 2)
     private BigDecimal totalBilled = BigDecimal.ZERO;
 
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int receiptCount = 0;
+
     @Column(length = 500)
     private String remarks;
 
@@ -105,9 +110,12 @@ public class PurchaseOrder {
     }
 
     public int getBilledPercent() {
-        if (grandTotal == null || grandTotal.compareTo(BigDecimal.ZERO) == 0) return 0;
-        return totalBilled.multiply(BigDecimal.valueOf(100))
-                .divide(grandTotal, 0, RoundingMode.HALF_UP).intValue();
+        return billedPercent(getTotalBilled(), grandTotal);
+    }
+
+    /** Computed on minor units; runs once per row in every list and detail response. */
+    public static int billedPercent(BigDecimal totalBilled, BigDecimal grandTotal) {
+        return Money.percent(Money.toMinor(totalBilled), Money.toMinor(grandTotal));
     }
 
     // Getters and Setters
@@ -144,6 +152,9 @@ public class PurchaseOrder {
     public BigDecimal getTotalBilled() { return totalBilled != null ? totalBilled : BigDecimal.ZERO; }
     public void setTotalBilled(BigDecimal totalBilled) { this.totalBilled = totalBilled; }
 
+    public int getReceiptCount() { return receiptCount; }
+    public void setReceiptCount(int receiptCount) { this.receiptCount = receiptCount; }
+
     public String getRemarks() { return remarks; }
     public void setRemarks(String remarks) { this.remarks = remarks; }
 
@@ -1,5 +1,6 @@
 package com.erp.procurement.entity;
 
+import com.erp.procurement.domain.Money;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 
@@ -40,7 +41,7 @@ public class PurchaseOrderItem {
     @PreUpdate
     protected void calcLineTotal() {
         if (unitPrice != null && orderedQty != null) {
-            this.lineTotal = unitPrice.multiply(orderedQty);
+            this.lineTotal = Money.fromMinor(Money.lineTotal(orderedQty, unitPrice));
         }
     }
 
@@ -1,5 +1,6 @@
 package com.erp.procurement.entity;
 
+import com.erp.procurement.enums.PurchaseOrderStatus;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -36,6 +37,10 @@ public class PurchaseReceipt {
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    /** Status of the PO right after this document was applied; set by the service, not persisted. */
+    @Transient
+    private PurchaseOrderStatus purchaseOrderStatus;
+
     @PrePersist
     protected void onCreate() { this.createdAt = LocalDateTime.now(); }
 
@@ -46,6 +51,9 @@ public class PurchaseReceipt {
     public void setId(Long id) { this.id = id; }
 
     public PurchaseOrder getPurchaseOrder() { return purchaseOrder; }
+
+    public PurchaseOrderStatus getPurchaseOrderStatus() { return purchaseOrderStatus; }
+    public void setPurchaseOrderStatus(PurchaseOrderStatus purchaseOrderStatus) { this.purchaseOrderStatus = purchaseOrderStatus; }
     public void setPurchaseOrder(PurchaseOrder purchaseOrder) { this.purchaseOrder = purchaseOrder; }
 
     public User getReceivedBy() { return receivedBy; }
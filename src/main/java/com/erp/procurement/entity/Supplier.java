@@ -1,9 +1,11 @@
 package com.erp.procurement.entity;
 
+import com.erp.procurement.service.ReferenceDataCacheListener;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(ReferenceDataCacheListener.class)
 @Table(name = "suppliers")
 public class Supplier {
 
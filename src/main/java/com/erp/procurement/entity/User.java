@@ -1,6 +1,7 @@
 package com.erp.procurement.entity;
 
 import com.erp.procurement.enums.Role;
+import com.erp.procurement.service.ReferenceDataCacheListener;
 import jakarta.persistence.*;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -11,6 +12,7 @@ import java.util.Collection;
 import java.util.List;
 
 @Entity
+@EntityListeners(ReferenceDataCacheListener.class)
 @Table(name = "users")
 public class User implements UserDetails {
 
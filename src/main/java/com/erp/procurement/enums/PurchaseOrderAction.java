@@ -0,0 +1,6 @@
+package com.erp.procurement.enums;
+
+/** Workflow operations on a purchase order; see {@code PurchaseOrderStateMachine} for when each applies. */
+public enum PurchaseOrderAction {
+    SUBMIT, APPROVE, REJECT, RECEIVE, INVOICE, CANCEL
+}
@@ -50,12 +50,17 @@ public class GlobalExceptionHandler {
         return error(HttpStatus.CONFLICT, ex.getMessage());
     }
 
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<?> handleBadArgument(IllegalArgumentException ex) {
+        return error(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<?> handleAccess(AccessDeniedException ex) {
         return error(HttpStatus.FORBIDDEN, "Access denied: insufficient role permissions");
     }
 
-    @ExceptionHandler(org.springframework.orm.ObjectOptimisticLockingFailureException.class)
+    @ExceptionHandler(org.springframework.dao.OptimisticLockingFailureException.class)
     public ResponseEntity<?> handleConcurrency(Exception ex) {
         return error(HttpStatus.CONFLICT,
                 "This record was modified by another user. Please refresh and try again.");
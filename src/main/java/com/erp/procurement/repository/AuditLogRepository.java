@@ -4,9 +4,23 @@ import com.erp.procurement.entity.AuditLog;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     List<AuditLog> findByEntityTypeAndEntityIdOrderByPerformedAtDesc(String entityType, Long entityId);
     Page<AuditLog> findByPerformedByOrderByPerformedAtDesc(String username, Pageable pageable);
+
+    // Keyset pagination on (performedAt, id) DESC
+    @Query("SELECT a FROM AuditLog a WHERE a.performedBy = :username ORDER BY a.performedAt DESC, a.id DESC")
+    List<AuditLog> findByPerformedByFirst(@Param("username") String username, Pageable limit);
+
+    @Query("SELECT a FROM AuditLog a WHERE a.performedBy = :username AND a.performedAt <= :performedAt "
+            + "AND (a.performedAt < :performedAt OR a.id < :id) ORDER BY a.performedAt DESC, a.id DESC")
+    List<AuditLog> findByPerformedByAfter(@Param("username") String username,
+                                          @Param("performedAt") LocalDateTime performedAt,
+                                          @Param("id") Long id, Pageable limit);
 }
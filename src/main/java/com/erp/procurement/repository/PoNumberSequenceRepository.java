@@ -0,0 +1,17 @@
+package com.erp.procurement.repository;
+
+import com.erp.procurement.entity.PoNumberSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface PoNumberSequenceRepository extends JpaRepository<PoNumberSequence, Integer> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM PoNumberSequence s WHERE s.sequenceYear = :year")
+    Optional<PoNumberSequence> findForUpdate(@Param("year") Integer year);
+}
@@ -1,9 +1,19 @@
 package com.erp.procurement.repository;
 
+import com.erp.procurement.dto.PurchaseOrderItemSummary;
 import com.erp.procurement.entity.PurchaseOrderItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
 import java.util.List;
 
 public interface PurchaseOrderItemRepository extends JpaRepository<PurchaseOrderItem, Long> {
     List<PurchaseOrderItem> findByPurchaseOrder_Id(Long poId);
+
+    @Query("SELECT new com.erp.procurement.dto.PurchaseOrderItemSummary(i.purchaseOrder.id, i.id, i.itemDescription, "
+            + "i.itemCode, i.unit, i.orderedQty, i.receivedQty, i.unitPrice, i.lineTotal) "
+            + "FROM PurchaseOrderItem i WHERE i.purchaseOrder.id IN :poIds ORDER BY i.id")
+    List<PurchaseOrderItemSummary> findSummariesByPurchaseOrderIds(@Param("poIds") Collection<Long> poIds);
 }
@@ -1,5 +1,7 @@
 package com.erp.procurement.repository;
 
+import com.erp.procurement.dto.PurchaseOrderSummary;
+import com.erp.procurement.dto.StatusAggregate;
 import com.erp.procurement.entity.PurchaseOrder;
 import com.erp.procurement.enums.PurchaseOrderStatus;
 import org.springframework.data.domain.Page;
@@ -9,6 +11,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,10 +20,51 @@ public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Lo
 
     Optional<PurchaseOrder> findByPoNumber(String poNumber);
 
-    Page<PurchaseOrder> findByStatus(PurchaseOrderStatus status, Pageable pageable);
+    String SUMMARY_SELECT = "SELECT new com.erp.procurement.dto.PurchaseOrderSummary("
+            + "p.id, p.poNumber, s.id, s.supplierName, s.supplierCode, p.status, p.orderDate, p.expectedDeliveryDate, "
+            + "p.grandTotal, p.totalReceived, p.totalBilled, cb.fullName, ab.fullName, p.approvedAt, p.remarks, "
+            + "p.createdAt, p.updatedAt, p.version) "
+            + "FROM PurchaseOrder p JOIN p.supplier s JOIN p.createdBy cb LEFT JOIN p.approvedBy ab";
 
-    Page<PurchaseOrder> findBySupplier_SupplierNameContainingIgnoreCaseOrPoNumberContainingIgnoreCase(
-            String supplierName, String poNumber, Pageable pageable);
+    @Query(value = SUMMARY_SELECT,
+           countQuery = "SELECT COUNT(p) FROM PurchaseOrder p")
+    Page<PurchaseOrderSummary> findSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + " WHERE p.status = :status",
+           countQuery = "SELECT COUNT(p) FROM PurchaseOrder p WHERE p.status = :status")
+    Page<PurchaseOrderSummary> findSummariesByStatus(@Param("status") PurchaseOrderStatus status, Pageable pageable);
+
+    // ── Keyset pagination on (createdAt, id) DESC ──
+    // The redundant "createdAt <= :createdAt" bound lets the database seek straight into the
+    // (created_at, id) index instead of filtering every newer row.
+    String SEEK_ORDER = " ORDER BY p.createdAt DESC, p.id DESC";
+    String SEEK_AFTER = " p.createdAt <= :createdAt AND (p.createdAt < :createdAt OR p.id < :id)";
+
+    @Query(SUMMARY_SELECT + SEEK_ORDER)
+    List<PurchaseOrderSummary> findSummariesFirst(Pageable limit);
+
+    @Query(SUMMARY_SELECT + " WHERE" + SEEK_AFTER + SEEK_ORDER)
+    List<PurchaseOrderSummary> findSummariesAfter(@Param("createdAt") LocalDateTime createdAt,
+                                                  @Param("id") Long id, Pageable limit);
+
+    @Query(SUMMARY_SELECT + " WHERE p.status = :status" + SEEK_ORDER)
+    List<PurchaseOrderSummary> findSummariesByStatusFirst(@Param("status") PurchaseOrderStatus status, Pageable limit);
+
+    @Query(SUMMARY_SELECT + " WHERE p.status = :status AND" + SEEK_AFTER + SEEK_ORDER)
+    List<PurchaseOrderSummary> findSummariesByStatusAfter(@Param("status") PurchaseOrderStatus status,
+                                                          @Param("createdAt") LocalDateTime createdAt,
+                                                          @Param("id") Long id, Pageable limit);
+
+    /** Planner estimate from table statistics; -1 when the table has never been analysed (PostgreSQL). */
+    @Query(value = "SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE relname = 'purchase_orders'", nativeQuery = true)
+    Long estimateRowCount();
+
+    @Query(SUMMARY_SELECT + " WHERE p.id IN :ids")
+    List<PurchaseOrderSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.erp.procurement.dto.StatusAggregate(p.status, COUNT(p), "
+            + "COALESCE(SUM(p.grandTotal), 0), COALESCE(SUM(p.totalBilled), 0)) FROM PurchaseOrder p GROUP BY p.status")
+    List<StatusAggregate> aggregateByStatus();
 
     @Query("SELECT COUNT(p) FROM PurchaseOrder p WHERE p.status = :status")
     long countByStatus(@Param("status") PurchaseOrderStatus status);
@@ -34,4 +79,7 @@ public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Lo
     List<PurchaseOrder> findActivePendingOrders();
 
     boolean existsByPoNumber(String poNumber);
+
+    @Query("SELECT MAX(CAST(SUBSTRING(p.poNumber, LENGTH(:prefix) + 1) AS Long)) FROM PurchaseOrder p WHERE p.poNumber LIKE CONCAT(:prefix, '%')")
+    Long findMaxPoSequence(@Param("prefix") String prefix);
 }
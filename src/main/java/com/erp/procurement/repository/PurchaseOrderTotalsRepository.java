@@ -0,0 +1,94 @@
+package com.erp.procurement.repository;
+
+import com.erp.procurement.domain.PurchaseOrderStateMachine;
+import com.erp.procurement.enums.PurchaseOrderAction;
+import com.erp.procurement.enums.PurchaseOrderStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Single-statement updates of a PO's running totals. The row is locked by the sub-select, the
+ * limit and status guards live in the WHERE clause and the resulting status is derived in SQL,
+ * so a receipt or invoice costs one round trip and cannot lose an update or hit a version
+ * conflict. {@code version} is still bumped so entity-based writers (approve, cancel) notice the
+ * change. The status guards are the source statuses of RECEIVE and INVOICE in
+ * {@link PurchaseOrderStateMachine}. An empty result means a guard failed; the caller re-reads
+ * the PO to say which.
+ */
+@Repository
+public class PurchaseOrderTotalsRepository {
+
+    /** Values after the update, plus the status and billed total before it (for KPI deltas and audit). */
+    public record TotalsUpdate(String poNumber, PurchaseOrderStatus previousStatus, PurchaseOrderStatus status,
+                               BigDecimal previousBilled, BigDecimal totalReceived, BigDecimal totalBilled,
+                               BigDecimal grandTotal, int receiptCount) {}
+
+    private static final String RETURNING = " RETURNING p.po_number, prev.status AS previous_status, p.status, "
+            + "prev.total_billed AS previous_billed, p.total_received, p.total_billed, p.grand_total, p.receipt_count";
+
+    private static final String FROM_LOCKED = " FROM (SELECT id, status, total_billed FROM purchase_orders "
+            + "WHERE id = ? FOR UPDATE) prev WHERE p.id = prev.id";
+
+    // SET expressions see the pre-update row, so the CASE compares the new total explicitly
+    private static final String ADD_RECEIVED_SQL = "UPDATE purchase_orders p SET "
+            + "total_received = p.total_received + ?, "
+            + "receipt_count = p.receipt_count + 1, "
+            + "status = CASE "
+            + "  WHEN p.total_received + ? >= p.grand_total AND p.total_billed >= p.grand_total THEN 'COMPLETED' "
+            + "  WHEN p.total_received + ? >= p.grand_total THEN 'TO_BILL' "
+            + "  ELSE 'TO_RECEIVE' END, "
+            + "version = p.version + 1, updated_at = ?"
+            + FROM_LOCKED
+            + " AND p.status IN (" + PurchaseOrderStateMachine.sqlSourceStatuses(PurchaseOrderAction.RECEIVE) + ")"
+            + " AND p.total_received + ? <= p.grand_total"
+            + RETURNING;
+
+    private static final String ADD_BILLED_SQL = "UPDATE purchase_orders p SET "
+            + "total_billed = p.total_billed + ?, "
+            + "status = CASE "
+            + "  WHEN p.total_received >= p.grand_total AND p.total_billed + ? >= p.grand_total THEN 'COMPLETED' "
+            + "  WHEN p.total_billed + ? >= p.grand_total THEN 'TO_RECEIVE' "
+            + "  ELSE p.status END, "
+            + "version = p.version + 1, updated_at = ?"
+            + FROM_LOCKED
+            + " AND p.status IN (" + PurchaseOrderStateMachine.sqlSourceStatuses(PurchaseOrderAction.INVOICE) + ")"
+            + " AND p.total_billed + ? <= p.grand_total"
+            + RETURNING;
+
+    private static final RowMapper<TotalsUpdate> MAPPER = (rs, rowNum) -> new TotalsUpdate(
+            rs.getString("po_number"),
+            PurchaseOrderStatus.valueOf(rs.getString("previous_status")),
+            PurchaseOrderStatus.valueOf(rs.getString("status")),
+            rs.getBigDecimal("previous_billed"),
+            rs.getBigDecimal("total_received"),
+            rs.getBigDecimal("total_billed"),
+            rs.getBigDecimal("grand_total"),
+            rs.getInt("receipt_count"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PurchaseOrderTotalsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<TotalsUpdate> addReceived(Long poId, BigDecimal amount) {
+        return single(jdbcTemplate.query(ADD_RECEIVED_SQL, MAPPER,
+                amount, amount, amount, Timestamp.valueOf(LocalDateTime.now()), poId, amount));
+    }
+
+    public Optional<TotalsUpdate> addBilled(Long poId, BigDecimal amount) {
+        return single(jdbcTemplate.query(ADD_BILLED_SQL, MAPPER,
+                amount, amount, amount, Timestamp.valueOf(LocalDateTime.now()), poId, amount));
+    }
+
+    private static Optional<TotalsUpdate> single(List<TotalsUpdate> rows) {
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+}
@@ -0,0 +1,48 @@
+package com.erp.procurement.service;
+
+import com.erp.procurement.entity.AuditLog;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Batched JDBC inserts of audit records into either the outbox or the final audit table.
+ * Joins the caller's transaction when one is active.
+ */
+@Component
+public class AuditLogJdbcWriter {
+
+    private static final String COLUMNS = "(action, entity_type, entity_id, performed_by, performed_at, "
+            + "previous_status, new_status, description, ip_address) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    static final String AUDIT_LOGS = "audit_logs";
+    static final String AUDIT_OUTBOX = "audit_outbox";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AuditLogJdbcWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insert(String table, List<AuditLog> batch) {
+        if (batch.isEmpty()) return;
+        jdbcTemplate.batchUpdate("INSERT INTO " + table + " " + COLUMNS, batch, batch.size(), this::bind);
+    }
+
+    private void bind(PreparedStatement ps, AuditLog entry) throws SQLException {
+        ps.setString(1, entry.getAction().name());
+        ps.setString(2, entry.getEntityType());
+        if (entry.getEntityId() != null) ps.setLong(3, entry.getEntityId()); else ps.setNull(3, Types.BIGINT);
+        ps.setString(4, entry.getPerformedBy());
+        ps.setTimestamp(5, Timestamp.valueOf(entry.getPerformedAt()));
+        ps.setString(6, entry.getPreviousStatus());
+        ps.setString(7, entry.getNewStatus());
+        ps.setString(8, entry.getDescription());
+        ps.setString(9, entry.getIpAddress());
+    }
+}
@@ -0,0 +1,52 @@
+package com.erp.procurement.service;
+
+import com.erp.procurement.entity.AuditLog;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stages audit records for the current transaction and writes them to {@code audit_outbox}
+ * as one batch just before commit, so an audit row exists if and only if the change it
+ * describes was committed. {@link AuditOutboxRelay} moves committed rows to {@code audit_logs}.
+ */
+@Component
+public class AuditOutbox {
+
+    private final AuditLogJdbcWriter jdbcWriter;
+
+    public AuditOutbox(AuditLogJdbcWriter jdbcWriter) {
+        this.jdbcWriter = jdbcWriter;
+    }
+
+    public boolean canStage() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    public void stage(AuditLog entry) {
+        @SuppressWarnings("unchecked")
+        List<AuditLog> pending = (List<AuditLog>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<AuditLog> batch = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, batch);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    jdbcWriter.insert(AuditLogJdbcWriter.AUDIT_OUTBOX, batch);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AuditOutbox.this);
+                }
+            });
+            pending = batch;
+        }
+        pending.add(entry);
+    }
+}
@@ -0,0 +1,102 @@
+package com.erp.procurement.service;
+
+import com.erp.procurement.entity.AuditLog;
+import com.erp.procurement.enums.AuditAction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Moves committed outbox rows into {@code audit_logs}. Each batch is claimed with
+ * {@code FOR UPDATE SKIP LOCKED}, so several nodes can relay concurrently without
+ * picking up the same rows, and the insert plus delete commit atomically.
+ */
+@Component
+public class AuditOutboxRelay {
+
+    private static final Logger log = Logger.getLogger(AuditOutboxRelay.class.getName());
+
+    private static final String CLAIM_SQL =
+            "SELECT id, action, entity_type, entity_id, performed_by, performed_at, previous_status, "
+                    + "new_status, description, ip_address FROM audit_outbox ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String DELETE_SQL = "DELETE FROM audit_outbox WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditLogJdbcWriter jdbcWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final AtomicLong relayed = new AtomicLong();
+    private final AtomicLong failedRuns = new AtomicLong();
+    private volatile long lastRunNanos = 0;
+
+    public AuditOutboxRelay(JdbcTemplate jdbcTemplate,
+                            AuditLogJdbcWriter jdbcWriter,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.audit.outbox.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jdbcWriter = jdbcWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${app.audit.outbox.relay-interval-ms:500}")
+    public void relay() {
+        long start = System.nanoTime();
+        try {
+            Integer moved;
+            do {
+                moved = transactionTemplate.execute(status -> relayBatch());
+            } while (moved != null && moved == batchSize);
+        } catch (RuntimeException e) {
+            failedRuns.incrementAndGet();
+            log.log(Level.SEVERE, "Audit outbox relay failed; rows stay in the outbox for the next run", e);
+        } finally {
+            lastRunNanos = System.nanoTime() - start;
+        }
+    }
+
+    private int relayBatch() {
+        List<Long> ids = new ArrayList<>(batchSize);
+        List<AuditLog> claimed = jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> {
+            ids.add(rs.getLong("id"));
+            return AuditLog.builder()
+                    .action(AuditAction.valueOf(rs.getString("action")))
+                    .entityType(rs.getString("entity_type"))
+                    .entityId(rs.getObject("entity_id", Long.class))
+                    .performedBy(rs.getString("performed_by"))
+                    .performedAt(rs.getTimestamp("performed_at").toLocalDateTime())
+                    .previousStatus(rs.getString("previous_status"))
+                    .newStatus(rs.getString("new_status"))
+                    .description(rs.getString("description"))
+                    .ipAddress(rs.getString("ip_address"))
+                    .build();
+        }, batchSize);
+        if (claimed.isEmpty()) return 0;
+
+        jdbcWriter.insert(AuditLogJdbcWriter.AUDIT_LOGS, claimed);
+        jdbcTemplate.batchUpdate(DELETE_SQL, ids, ids.size(), (ps, id) -> ps.setLong(1, id));
+        relayed.addAndGet(claimed.size());
+        return claimed.size();
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("relayed", relayed.get());
+        m.put("failedRuns", failedRuns.get());
+        m.put("lastRunMillis", lastRunNanos / 1_000_000.0);
+        return m;
+    }
+}
@@ -0,0 +1,76 @@
+package com.erp.procurement.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Decides what happens to audit work the saturated audit executor cannot queue. Batch writes are
+ * either run on the submitting thread ({@code CALLER_RUNS}, which throttles the flusher) or
+ * written to the disk spool ({@code SPOOL}); if spooling fails the batch is written by the caller
+ * anyway. Plain flush requests are discarded, because the periodic flush picks up the records.
+ */
+@Component
+public class AuditRejectionHandler implements RejectedExecutionHandler {
+
+    private static final Logger log = Logger.getLogger(AuditRejectionHandler.class.getName());
+
+    public enum Policy { CALLER_RUNS, SPOOL }
+
+    private final Policy policy;
+    private final AuditSpool spool;
+
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong callerRuns = new AtomicLong();
+    private final AtomicLong spooledBatches = new AtomicLong();
+    private final AtomicLong discardedFlushRequests = new AtomicLong();
+
+    public AuditRejectionHandler(@Value("${app.audit.executor.rejection-policy:CALLER_RUNS}") Policy policy,
+                                 AuditSpool spool) {
+        this.policy = policy;
+        this.spool = spool;
+    }
+
+    @Override
+    public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+        rejected.incrementAndGet();
+        if (!(task instanceof AuditWriteTask write)) {
+            discardedFlushRequests.incrementAndGet();
+            return;
+        }
+        if (policy == Policy.SPOOL) {
+            try {
+                spool.append(write.batch());
+                spooledBatches.incrementAndGet();
+                return;
+            } catch (RuntimeException e) {
+                log.log(Level.WARNING, "Audit spool unavailable, writing rejected batch on the caller", e);
+            }
+        }
+        callerRuns.incrementAndGet();
+        write.run();
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("policy", policy);
+        m.put("rejected", rejected.get());
+        m.put("callerRuns", callerRuns.get());
+        m.put("spooledBatches", spooledBatches.get());
+        m.put("discardedFlushRequests", discardedFlushRequests.get());
+        return m;
+    }
+
+    public long getCallerRuns() { return callerRuns.get(); }
+
+    public long getSpooledBatches() { return spooledBatches.get(); }
+
+    public long getDiscardedFlushRequests() { return discardedFlushRequests.get(); }
+}
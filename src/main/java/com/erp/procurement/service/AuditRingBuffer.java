@@ -0,0 +1,79 @@
+package com.erp.procurement.service;
+
+import com.erp.procurement.entity.AuditLog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free multi-producer/multi-consumer ring buffer for pending audit records.
+ * Each slot carries a sequence number so producers and consumers claim positions with a
+ * single CAS and never block each other.
+ */
+final class AuditRingBuffer {
+
+    private final int mask;
+    private final AtomicReferenceArray<AuditLog> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong enqueuePos = new AtomicLong();
+    private final AtomicLong dequeuePos = new AtomicLong();
+
+    AuditRingBuffer(int requestedCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, requestedCapacity - 1)) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(AuditLog entry) {
+        long pos = enqueuePos.get();
+        while (true) {
+            int idx = (int) (pos & mask);
+            long diff = sequences.get(idx) - pos;
+            if (diff == 0) {
+                if (enqueuePos.compareAndSet(pos, pos + 1)) {
+                    slots.set(idx, entry);
+                    sequences.set(idx, pos + 1);
+                    return true;
+                }
+                pos = enqueuePos.get();
+            } else if (diff < 0) {
+                return false; // full
+            } else {
+                pos = enqueuePos.get();
+            }
+        }
+    }
+
+    AuditLog poll() {
+        long pos = dequeuePos.get();
+        while (true) {
+            int idx = (int) (pos & mask);
+            long diff = sequences.get(idx) - (pos + 1);
+            if (diff == 0) {
+                if (dequeuePos.compareAndSet(pos, pos + 1)) {
+                    AuditLog entry = slots.get(idx);
+                    slots.set(idx, null);
+                    sequences.set(idx, pos + mask + 1);
+                    return entry;
+                }
+                pos = dequeuePos.get();
+            } else if (diff < 0) {
+                return null; // empty
+            } else {
+                pos = dequeuePos.get();
+            }
+        }
+    }
+
+    int size() {
+        long size = enqueuePos.get() - dequeuePos.get();
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    int capacity() { return mask + 1; }
+}
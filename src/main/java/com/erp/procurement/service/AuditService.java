@@ -1,23 +1,40 @@
 package com.erp.procurement.service;
 
+import com.erp.procurement.dto.SeekCursor;
+import com.erp.procurement.dto.SeekPage;
 import com.erp.procurement.entity.AuditLog;
 import com.erp.procurement.enums.AuditAction;
 import com.erp.procurement.repository.AuditLogRepository;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
 public class AuditService {
 
     private final AuditLogRepository auditLogRepository;
+    private final AuditWriteBehindBuffer writeBehindBuffer;
+    private final AuditOutbox outbox;
+    private final int maxPageSize;
 
-    public AuditService(AuditLogRepository auditLogRepository) {
+    public AuditService(AuditLogRepository auditLogRepository,
+                        AuditWriteBehindBuffer writeBehindBuffer,
+                        AuditOutbox outbox,
+                        @Value("${app.audit.user-activity.max-page-size:200}") int maxPageSize) {
         this.auditLogRepository = auditLogRepository;
+        this.writeBehindBuffer = writeBehindBuffer;
+        this.outbox = outbox;
+        this.maxPageSize = maxPageSize;
     }
 
-    @Async
+    /**
+     * Inside a read-write transaction the record is staged in the outbox and commits or rolls
+     * back with the business change; outside one (login/logout) it goes to the write-behind buffer.
+     */
     public void log(AuditAction action, String entityType, Long entityId,
                     String performedBy, String previousStatus, String newStatus, String description) {
         AuditLog log = AuditLog.builder()
@@ -28,11 +45,35 @@ public class AuditService {
                 .previousStatus(previousStatus)
                 .newStatus(newStatus)
                 .description(description)
+                .performedAt(LocalDateTime.now())
                 .build();
-        auditLogRepository.save(log);
+        if (outbox.canStage()) {
+            outbox.stage(log);
+        } else {
+            writeBehindBuffer.submit(log);
+        }
     }
 
     public List<AuditLog> getLogsForEntity(String entityType, Long entityId) {
         return auditLogRepository.findByEntityTypeAndEntityIdOrderByPerformedAtDesc(entityType, entityId);
     }
+
+    /**
+     * Keyset-paginated activity of one user, newest first, ordered by (performedAt, id). The page
+     * size is clamped to 1..{@code app.audit.user-activity.max-page-size}.
+     */
+    @Transactional(readOnly = true)
+    public SeekPage<AuditLog> getLogsForUser(String username, String cursor, int size) {
+        size = Math.max(1, Math.min(size, maxPageSize));
+        SeekCursor after = cursor != null && !cursor.isBlank() ? SeekCursor.decode(cursor) : null;
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<AuditLog> rows = after == null
+                ? auditLogRepository.findByPerformedByFirst(username, limit)
+                : auditLogRepository.findByPerformedByAfter(username, after.timestamp(), after.id(), limit);
+        boolean hasMore = rows.size() > size;
+        if (hasMore) rows = rows.subList(0, size);
+        String nextCursor = hasMore
+                ? new SeekCursor(rows.get(size - 1).getPerformedAt(), rows.get(size - 1).getId()).encode() : null;
+        return new SeekPage<>(rows, nextCursor, hasMore, size, null, null);
+    }
 }
@@ -0,0 +1,198 @@
+package com.erp.procurement.service;
+
+import com.erp.procurement.entity.AuditLog;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Local disk spool for audit batches that could not be written to the database, either because
+ * the audit executor was saturated or because the insert failed. Each batch becomes one NDJSON
+ * file, written to a temporary name and renamed so the replayer never sees a partial file.
+ * Files are replayed into {@code audit_logs} oldest first and deleted once inserted. A run stops
+ * when the database is unreachable; any other failure counts against the file, which is moved
+ * to {@code failed/} after {@code max-attempts} runs (at once if it cannot be parsed) so one bad
+ * batch does not hold back the ones behind it.
+ */
+@Component
+public class AuditSpool {
+
+    private static final Logger log = Logger.getLogger(AuditSpool.class.getName());
+
+    private static final String SUFFIX = ".ndjson";
+    private static final String FAILED_DIR = "failed";
+
+    private final Path directory;
+    private final Path failedDirectory;
+    private final int maxAttempts;
+    private final ObjectMapper objectMapper;
+    private final AuditLogJdbcWriter jdbcWriter;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong spooled = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong spoolFailures = new AtomicLong();
+    private final AtomicLong quarantinedFiles = new AtomicLong();
+
+    /** Failed replay runs per file name; only touched by the replay job. */
+    private final Map<String, Integer> attempts = new HashMap<>();
+
+    public AuditSpool(@Value("${app.audit.spool.dir:${java.io.tmpdir}/erp-audit-spool}") String directory,
+                      @Value("${app.audit.spool.max-attempts:5}") int maxAttempts,
+                      ObjectMapper objectMapper,
+                      AuditLogJdbcWriter jdbcWriter) {
+        this.directory = Paths.get(directory);
+        this.failedDirectory = this.directory.resolve(FAILED_DIR);
+        this.maxAttempts = maxAttempts;
+        this.objectMapper = objectMapper;
+        this.jdbcWriter = jdbcWriter;
+    }
+
+    /** Persists the batch to disk; throws if the spool itself is unwritable. */
+    public void append(List<AuditLog> batch) {
+        if (batch.isEmpty()) return;
+        String name = String.format("audit-%d-%06d", System.currentTimeMillis(), sequence.incrementAndGet() % 1_000_000);
+        try {
+            Files.createDirectories(directory);
+            Path tmp = directory.resolve(name + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                for (AuditLog entry : batch) {
+                    writer.write(objectMapper.writeValueAsString(entry));
+                    writer.newLine();
+                }
+            }
+            Files.move(tmp, directory.resolve(name + SUFFIX), StandardCopyOption.ATOMIC_MOVE);
+            spooled.addAndGet(batch.size());
+        } catch (IOException e) {
+            spoolFailures.addAndGet(batch.size());
+            throw new UncheckedIOException("Could not spool " + batch.size() + " audit records", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.audit.spool.replay-interval-ms:30000}")
+    public void replay() {
+        if (!Files.isDirectory(directory)) return;
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            stream.forEach(files::add);
+        } catch (IOException e) {
+            log.log(Level.WARNING, "Could not list audit spool " + directory, e);
+            return;
+        }
+        files.sort(null);
+        Set<String> names = new HashSet<>();
+        for (Path file : files) names.add(file.getFileName().toString());
+        attempts.keySet().retainAll(names);
+
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            try {
+                List<AuditLog> batch = read(file);
+                jdbcWriter.insert(AuditLogJdbcWriter.AUDIT_LOGS, batch);
+                Files.delete(file);
+                attempts.remove(name);
+                replayed.addAndGet(batch.size());
+            } catch (DataAccessResourceFailureException | TransientDataAccessException | RecoverableDataAccessException e) {
+                // Database unavailable: every later file would fail the same way, retry on the next run
+                log.log(Level.WARNING, "Audit spool replay stopped at " + name + ", database unavailable", e);
+                return;
+            } catch (IOException | RuntimeException e) {
+                int failures = e instanceof JsonProcessingException ? maxAttempts : attempts.merge(name, 1, Integer::sum);
+                if (failures < maxAttempts) {
+                    log.log(Level.WARNING, "Audit spool file " + name + " failed (attempt " + failures + "), skipping", e);
+                } else {
+                    quarantine(file, e);
+                }
+            }
+        }
+    }
+
+    private void quarantine(Path file, Exception cause) {
+        String name = file.getFileName().toString();
+        try {
+            Files.createDirectories(failedDirectory);
+            Files.move(file, failedDirectory.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+            attempts.remove(name);
+            quarantinedFiles.incrementAndGet();
+            log.log(Level.SEVERE, "Audit spool file " + name + " moved to " + failedDirectory + " after repeated failures", cause);
+        } catch (IOException e) {
+            log.log(Level.SEVERE, "Could not move audit spool file " + name + " to " + failedDirectory, e);
+        }
+    }
+
+    private List<AuditLog> read(Path file) throws IOException {
+        List<AuditLog> batch = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) batch.add(objectMapper.readValue(line, AuditLog.class));
+            }
+        }
+        return batch;
+    }
+
+    public long pendingFiles() {
+        return countFiles(directory);
+    }
+
+    public long failedFiles() {
+        return countFiles(failedDirectory);
+    }
+
+    private static long countFiles(Path directory) {
+        if (!Files.isDirectory(directory)) return 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            long n = 0;
+            for (Path ignored : stream) n++;
+            return n;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("directory", directory.toString());
+        m.put("pendingFiles", pendingFiles());
+        m.put("spooled", spooled.get());
+        m.put("replayed", replayed.get());
+        m.put("spoolFailures", spoolFailures.get());
+        m.put("failedFiles", failedFiles());
+        m.put("quarantinedFiles", quarantinedFiles.get());
+        return m;
+    }
+
+    public long getSpooled() { return spooled.get(); }
+
+    public long getReplayed() { return replayed.get(); }
+
+    public long getSpoolFailures() { return spoolFailures.get(); }
+
+    public long getQuarantinedFiles() { return quarantinedFiles.get(); }
+}
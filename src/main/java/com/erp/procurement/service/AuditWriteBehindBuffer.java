@@ -0,0 +1,224 @@
+package com.erp.procurement.service;
+
+import com.erp.procurement.entity.AuditLog;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Write-behind pipeline for audit records. Callers enqueue into a lock-free ring buffer and
+ * a single flusher drains it into batches, either when a full batch is waiting or on the
+ * periodic flush tick, whichever comes first. Batches are written by the bounded
+ * {@code auditExecutor}; a batch whose insert fails is moved to the {@link AuditSpool}.
+ */
+@Component
+public class AuditWriteBehindBuffer {
+
+    private static final Logger log = Logger.getLogger(AuditWriteBehindBuffer.class.getName());
+
+    public enum OverflowPolicy { BLOCK, DROP, CALLER_RUNS }
+
+    private final AuditLogJdbcWriter jdbcWriter;
+    private final ThreadPoolTaskExecutor auditExecutor;
+    private final AuditRejectionHandler rejectionHandler;
+    private final AuditSpool spool;
+    private final AuditRingBuffer ring;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final long offerTimeoutNanos;
+    private final long shutdownTimeoutNanos;
+
+    private final AtomicBoolean flushing = new AtomicBoolean(false);
+    private final AtomicBoolean flushRequested = new AtomicBoolean(false);
+    private volatile boolean stopped = false;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong spooledOnFailure = new AtomicLong();
+    private final AtomicLong callerRuns = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong totalFlushNanos = new AtomicLong();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+    private volatile long lastFlushNanos = 0;
+
+    public AuditWriteBehindBuffer(AuditLogJdbcWriter jdbcWriter,
+                                  @Qualifier("auditExecutor") ThreadPoolTaskExecutor auditExecutor,
+                                  AuditRejectionHandler rejectionHandler,
+                                  AuditSpool spool,
+                                  @Value("${app.audit.buffer.capacity:8192}") int capacity,
+                                  @Value("${app.audit.buffer.batch-size:500}") int batchSize,
+                                  @Value("${app.audit.buffer.overflow-policy:BLOCK}") OverflowPolicy overflowPolicy,
+                                  @Value("${app.audit.buffer.offer-timeout-ms:200}") long offerTimeoutMs,
+                                  @Value("${app.audit.buffer.shutdown-timeout-ms:10000}") long shutdownTimeoutMs) {
+        this.jdbcWriter = jdbcWriter;
+        this.auditExecutor = auditExecutor;
+        this.rejectionHandler = rejectionHandler;
+        this.spool = spool;
+        this.ring = new AuditRingBuffer(capacity);
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+        this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(offerTimeoutMs);
+        this.shutdownTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMs);
+    }
+
+    public void submit(AuditLog entry) {
+        if (entry.getPerformedAt() == null) entry.setPerformedAt(LocalDateTime.now());
+        if (stopped) {
+            writeDirect(entry);
+            return;
+        }
+        if (ring.offer(entry)) {
+            enqueued.incrementAndGet();
+            if (ring.size() >= batchSize) requestFlush();
+            return;
+        }
+        handleOverflow(entry);
+    }
+
+    private void handleOverflow(AuditLog entry) {
+        requestFlush();
+        switch (overflowPolicy) {
+            case DROP -> {
+                dropped.incrementAndGet();
+                log.warning("Audit buffer full, dropping " + entry.getAction() + " for " + entry.getEntityType() + "#" + entry.getEntityId());
+            }
+            case CALLER_RUNS -> writeDirect(entry);
+            case BLOCK -> {
+                long deadline = System.nanoTime() + offerTimeoutNanos;
+                while (System.nanoTime() < deadline) {
+                    LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+                    if (ring.offer(entry)) {
+                        enqueued.incrementAndGet();
+                        return;
+                    }
+                }
+                // Waited long enough — fall back to a synchronous write rather than losing the record
+                writeDirect(entry);
+            }
+        }
+    }
+
+    private void requestFlush() {
+        if (!flushing.get() && flushRequested.compareAndSet(false, true)) {
+            auditExecutor.execute(this::flush);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.audit.buffer.flush-interval-ms:200}")
+    public void flush() {
+        flushRequested.set(false);
+        if (!flushing.compareAndSet(false, true)) return;
+        try {
+            while (true) {
+                List<AuditLog> batch = new ArrayList<>(batchSize);
+                AuditLog next;
+                while (batch.size() < batchSize && (next = ring.poll()) != null) {
+                    batch.add(next);
+                }
+                if (batch.isEmpty()) break;
+                if (stopped) {
+                    writeBatch(batch);
+                } else {
+                    auditExecutor.execute(new AuditWriteTask(batch, this::writeBatch));
+                }
+            }
+        } finally {
+            flushing.set(false);
+        }
+    }
+
+    private void writeBatch(List<AuditLog> batch) {
+        long start = System.nanoTime();
+        try {
+            jdbcWriter.insert(AuditLogJdbcWriter.AUDIT_LOGS, batch);
+            written.addAndGet(batch.size());
+        } catch (RuntimeException e) {
+            try {
+                spool.append(batch);
+                spooledOnFailure.addAndGet(batch.size());
+                log.log(Level.WARNING, "Failed to flush " + batch.size() + " audit records, spooled to disk", e);
+            } catch (RuntimeException spoolError) {
+                failed.addAndGet(batch.size());
+                log.log(Level.SEVERE, "Failed to flush " + batch.size() + " audit records", e);
+            }
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            lastFlushNanos = elapsed;
+            flushCount.incrementAndGet();
+            totalFlushNanos.addAndGet(elapsed);
+            maxFlushNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    private void writeDirect(AuditLog entry) {
+        callerRuns.incrementAndGet();
+        writeBatch(List.of(entry));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopped = true;
+        long deadline = System.nanoTime() + shutdownTimeoutNanos;
+        while ((ring.size() > 0 || flushing.get()) && System.nanoTime() < deadline) {
+            flush();
+            if (flushing.get()) LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+        if (ring.size() > 0) {
+            log.warning("Audit buffer shut down with " + ring.size() + " records still pending");
+        } else {
+            log.info("Audit buffer drained: " + written.get() + " records written");
+        }
+    }
+
+    public int getQueueDepth() { return ring.size(); }
+
+    public Map<String, Object> metrics() {
+        long flushes = flushCount.get();
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("queueDepth", ring.size());
+        m.put("capacity", ring.capacity());
+        m.put("overflowPolicy", overflowPolicy);
+        m.put("enqueued", enqueued.get());
+        m.put("written", written.get());
+        m.put("dropped", dropped.get());
+        m.put("failed", failed.get());
+        m.put("spooledOnFailure", spooledOnFailure.get());
+        m.put("callerRuns", callerRuns.get());
+        m.put("flushCount", flushes);
+        m.put("lastFlushMillis", lastFlushNanos / 1_000_000.0);
+        m.put("avgFlushMillis", flushes == 0 ? 0.0 : totalFlushNanos.get() / 1_000_000.0 / flushes);
+        m.put("maxFlushMillis", maxFlushNanos.get() / 1_000_000.0);
+        m.put("executor", executorMetrics());
+        m.put("spool", spool.metrics());
+        return m;
+    }
+
+    private Map<String, Object> executorMetrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("activeThreads", auditExecutor.getActiveCount());
+        m.put("poolSize", auditExecutor.getPoolSize());
+        m.put("maxPoolSize", auditExecutor.getMaxPoolSize());
+        m.put("queueSize", auditExecutor.getQueueSize());
+        m.put("queueCapacity", auditExecutor.getQueueCapacity());
+        m.put("completedTasks", auditExecutor.getThreadPoolExecutor().getCompletedTaskCount());
+        m.putAll(rejectionHandler.metrics());
+        return m;
+    }
+}
@@ -0,0 +1,15 @@
+package com.erp.procurement.service;
+
+import com.erp.procurement.entity.AuditLog;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/** One audit batch handed to the audit executor; carries its records so a rejection can spool them. */
+record AuditWriteTask(List<AuditLog> batch, Consumer<List<AuditLog>> writer) implements Runnable {
+
+    @Override
+    public void run() {
+        writer.accept(batch);
+    }
+}
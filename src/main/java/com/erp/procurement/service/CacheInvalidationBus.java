@@ -0,0 +1,15 @@
+package com.erp.procurement.service;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Fan-out of cache invalidations. The default {@link LocalCacheInvalidationBus} only reaches
+ * the current JVM; a clustered deployment can replace the bean with one backed by a message
+ * broker or database notifications so every node drops the stale entry.
+ */
+public interface CacheInvalidationBus {
+
+    void publish(String cacheName, Object key);
+
+    void subscribe(BiConsumer<String, Object> listener);
+}
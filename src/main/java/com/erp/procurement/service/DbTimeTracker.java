@@ -0,0 +1,35 @@
+package com.erp.procurement.service;
+
+/**
+ * Per-thread accumulator of time spent inside JDBC calls. The timing DataSource adds to it;
+ * {@link WorkflowMetrics} reads the delta across one workflow operation. The DataSource only
+ * times connections taken while an operation is {@linkplain #isActive() active} on the thread.
+ */
+public final class DbTimeTracker {
+
+    /** Accumulated nanos and the depth of nested workflow operations. */
+    private static final ThreadLocal<long[]> STATE = ThreadLocal.withInitial(() -> new long[2]);
+
+    private DbTimeTracker() {}
+
+    public static void add(long nanos) {
+        STATE.get()[0] += nanos;
+    }
+
+    /** Monotonic per-thread total; callers subtract two readings. */
+    public static long current() {
+        return STATE.get()[0];
+    }
+
+    static void enter() {
+        STATE.get()[1]++;
+    }
+
+    static void exit() {
+        STATE.get()[1]--;
+    }
+
+    public static boolean isActive() {
+        return STATE.get()[1] > 0;
+    }
+}
@@ -0,0 +1,242 @@
+package com.erp.procurement.service;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+/**
+ * Embedded inverted index for databases without pg_trgm (H2, tests). Words map to order ids
+ * in a sorted map, so a prefix is a range scan; a second map from trigram to word finds fuzzy
+ * candidates. The longest query term picks at most {@code candidateLimit} candidate orders and
+ * every term is then scored against each candidate's own words. Built from the database at
+ * startup and refreshed after commit, so it lags a write by that commit.
+ */
+public class InMemoryPurchaseOrderSearchIndex implements PurchaseOrderSearchIndex {
+
+    private static final Logger log = Logger.getLogger(InMemoryPurchaseOrderSearchIndex.class.getName());
+
+    private static final String SELECT_SQL = "SELECT p.id, p.po_number, s.supplier_code, s.supplier_name "
+            + "FROM purchase_orders p JOIN suppliers s ON s.id = p.supplier_id";
+    private static final String SELECT_ITEMS_SQL = "SELECT purchase_order_id, item_code, item_description "
+            + "FROM purchase_order_items";
+
+    private static final double FUZZY_THRESHOLD = 0.4;
+
+    private record Doc(String poNumber, String[] words) {}
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final int candidateLimit;
+
+    private final Map<Long, Doc> docs = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+    private final Map<String, Set<String>> wordsByTrigram = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private final AtomicLong searches = new AtomicLong();
+    private final AtomicLong totalSearchNanos = new AtomicLong();
+    private final AtomicLong maxSearchNanos = new AtomicLong();
+
+    public InMemoryPurchaseOrderSearchIndex(NamedParameterJdbcTemplate jdbcTemplate, int candidateLimit) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.candidateLimit = candidateLimit;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        load(SELECT_SQL, SELECT_ITEMS_SQL, Map.of());
+        log.info("PO search index built: " + docs.size() + " orders, " + postings.size() + " words in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    // ── QUERY ──────────────────────────────────────────────────────────────────
+
+    @Override
+    public List<Match> search(String query, int limit) {
+        List<String> terms = PurchaseOrderSearchIndex.tokenize(query);
+        if (terms.isEmpty()) return List.of();
+        String poPrefix = query.trim().toLowerCase();
+        long start = System.nanoTime();
+        try {
+            String driver = terms.stream().max(Comparator.comparingInt(String::length)).orElseThrow();
+            PriorityQueue<Match> top = new PriorityQueue<>(
+                    Comparator.comparingDouble(Match::score).thenComparing(Match::purchaseOrderId));
+            for (Long id : candidates(driver)) {
+                Doc doc = docs.get(id);
+                if (doc == null) continue;
+                double score = doc.poNumber().toLowerCase().startsWith(poPrefix) ? 1.0 : 0.0;
+                for (String term : terms) {
+                    double best = 0;
+                    for (String word : doc.words()) best = Math.max(best, termScore(term, word));
+                    if (best == 0) { score = -1; break; }
+                    score += best;
+                }
+                if (score < 0) continue;
+                top.offer(new Match(id, score));
+                if (top.size() > limit) top.poll();
+            }
+            List<Match> ranked = new ArrayList<>(top);
+            ranked.sort(Comparator.comparingDouble(Match::score).reversed()
+                    .thenComparing(Match::purchaseOrderId, Comparator.reverseOrder()));
+            return ranked;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            searches.incrementAndGet();
+            totalSearchNanos.addAndGet(elapsed);
+            maxSearchNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    private Set<Long> candidates(String term) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (Set<Long> postingIds : postings.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+            if (addAll(ids, postingIds)) return ids;
+        }
+        if (term.length() < 3) return ids;
+        Map<String, Integer> shared = new HashMap<>();
+        for (String trigram : trigrams(term)) {
+            for (String word : wordsByTrigram.getOrDefault(trigram, Set.of())) shared.merge(word, 1, Integer::sum);
+        }
+        for (String word : shared.keySet()) {
+            if (word.startsWith(term) || similarity(term, word) < FUZZY_THRESHOLD) continue;
+            if (addAll(ids, postings.getOrDefault(word, Set.of()))) return ids;
+        }
+        return ids;
+    }
+
+    private boolean addAll(Set<Long> ids, Set<Long> more) {
+        for (Long id : more) {
+            ids.add(id);
+            if (ids.size() >= candidateLimit) return true;
+        }
+        return false;
+    }
+
+    private static double termScore(String term, String word) {
+        if (word.equals(term)) return 1.0;
+        if (word.startsWith(term)) return 0.5 + 0.5 * term.length() / word.length();
+        if (term.length() < 3) return 0;
+        double similarity = similarity(term, word);
+        return similarity >= FUZZY_THRESHOLD ? 0.5 * similarity : 0;
+    }
+
+    /** Jaccard similarity of padded trigram sets, as pg_trgm's {@code similarity()}. */
+    static double similarity(String a, String b) {
+        Set<String> ta = trigrams(a);
+        Set<String> tb = trigrams(b);
+        int common = 0;
+        for (String t : ta) if (tb.contains(t)) common++;
+        return (double) common / (ta.size() + tb.size() - common);
+    }
+
+    static Set<String> trigrams(String word) {
+        String padded = "  " + word + " ";
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) result.add(padded.substring(i, i + 3));
+        return result;
+    }
+
+    // ── MAINTENANCE ────────────────────────────────────────────────────────────
+
+    @Override
+    public void index(Collection<Long> purchaseOrderIds) {
+        if (purchaseOrderIds.isEmpty()) return;
+        List<Long> ids = List.copyOf(purchaseOrderIds);
+        afterCommit(() -> load(SELECT_SQL + " WHERE p.id IN (:ids)",
+                SELECT_ITEMS_SQL + " WHERE purchase_order_id IN (:ids)", Map.of("ids", ids)));
+    }
+
+    @Override
+    public void reindexSupplier(Long supplierId) {
+        afterCommit(() -> load(SELECT_SQL + " WHERE p.supplier_id = :supplierId",
+                SELECT_ITEMS_SQL + " WHERE purchase_order_id IN (SELECT id FROM purchase_orders WHERE supplier_id = :supplierId)",
+                Map.of("supplierId", supplierId)));
+    }
+
+    private void load(String orderSql, String itemSql, Map<String, ?> params) {
+        Map<Long, List<String>> text = new HashMap<>();
+        Map<Long, String> poNumbers = new LinkedHashMap<>();
+        jdbcTemplate.query(orderSql, params, rs -> {
+            long id = rs.getLong(1);
+            poNumbers.put(id, rs.getString(2));
+            text.computeIfAbsent(id, k -> new ArrayList<>())
+                    .addAll(List.of(rs.getString(2), rs.getString(3), rs.getString(4)));
+        });
+        jdbcTemplate.query(itemSql, params, rs -> {
+            List<String> words = text.get(rs.getLong(1));
+            if (words == null) return;
+            if (rs.getString(2) != null) words.add(rs.getString(2));
+            words.add(rs.getString(3));
+        });
+        writeLock.lock();
+        try {
+            poNumbers.forEach((id, poNumber) -> {
+                String[] words = PurchaseOrderSearchIndex.tokenize(String.join(" ", text.get(id)))
+                        .stream().distinct().toArray(String[]::new);
+                put(id, new Doc(poNumber, words));
+            });
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void put(Long id, Doc doc) {
+        Doc previous = docs.put(id, doc);
+        if (previous != null) {
+            for (String word : previous.words()) {
+                Set<Long> ids = postings.get(word);
+                if (ids == null) continue;
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(word);
+                    for (String trigram : trigrams(word)) {
+                        Set<String> words = wordsByTrigram.get(trigram);
+                        if (words != null) words.remove(word);
+                    }
+                }
+            }
+        }
+        for (String word : doc.words()) {
+            postings.computeIfAbsent(word, w -> {
+                for (String trigram : trigrams(w)) {
+                    wordsByTrigram.computeIfAbsent(trigram, t -> ConcurrentHashMap.newKeySet()).add(w);
+                }
+                return ConcurrentHashMap.newKeySet();
+            }).add(id);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() { action.run(); }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        long count = searches.get();
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("engine", "memory");
+        m.put("orders", docs.size());
+        m.put("words", postings.size());
+        m.put("searches", count);
+        m.put("avgSearchMillis", count == 0 ? 0.0 : totalSearchNanos.get() / 1_000_000.0 / count);
+        m.put("maxSearchMillis", maxSearchNanos.get() / 1_000_000.0);
+        m.put("candidateLimit", candidateLimit);
+        return m;
+    }
+}
@@ -0,0 +1,23 @@
+package com.erp.procurement.service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+/** In-memory {@link CacheInvalidationBus}: delivers invalidations synchronously to local subscribers. */
+public class LocalCacheInvalidationBus implements CacheInvalidationBus {
+
+    private final List<BiConsumer<String, Object>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(String cacheName, Object key) {
+        for (BiConsumer<String, Object> listener : listeners) {
+            listener.accept(cacheName, key);
+        }
+    }
+
+    @Override
+    public void subscribe(BiConsumer<String, Object> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,103 @@
+package com.erp.procurement.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Runs a unit of work in its own transaction and, when the commit loses an optimistic-lock race
+ * on {@code @Version}, runs it again in a fresh transaction after a jittered exponential backoff.
+ * The work must load and validate everything it needs itself, so each attempt re-reads the
+ * current row and re-checks its limits. Called from inside an existing transaction it runs once,
+ * since a conflict there has already marked the outer transaction rollback-only.
+ */
+@Component
+public class OptimisticRetryExecutor {
+
+    private static final Logger log = Logger.getLogger(OptimisticRetryExecutor.class.getName());
+
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long baseBackoffMs;
+    private final long maxBackoffMs;
+
+    private final AtomicLong executions = new AtomicLong();
+    private final AtomicLong conflicts = new AtomicLong();
+    private final AtomicLong recovered = new AtomicLong();
+    private final AtomicLong exhausted = new AtomicLong();
+
+    public OptimisticRetryExecutor(PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.optimistic-retry.max-attempts:5}") int maxAttempts,
+                                   @Value("${app.optimistic-retry.base-backoff-ms:10}") long baseBackoffMs,
+                                   @Value("${app.optimistic-retry.max-backoff-ms:200}") long maxBackoffMs) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseBackoffMs = baseBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    public <T> T execute(String operation, Supplier<T> work) {
+        executions.incrementAndGet();
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return work.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                T result = transactionTemplate.execute(status -> work.get());
+                if (attempt > 1) {
+                    recovered.incrementAndGet();
+                    meterRegistry.counter("procurement.optimistic.recovered", "operation", operation).increment();
+                }
+                return result;
+            } catch (OptimisticLockingFailureException e) {
+                conflicts.incrementAndGet();
+                meterRegistry.counter("procurement.optimistic.conflicts", "operation", operation).increment();
+                if (attempt >= maxAttempts) {
+                    exhausted.incrementAndGet();
+                    meterRegistry.counter("procurement.optimistic.exhausted", "operation", operation).increment();
+                    log.warning(operation + " gave up after " + attempt + " optimistic-lock conflicts");
+                    throw e;
+                }
+                backoff(attempt);
+            }
+        }
+    }
+
+    // Full jitter: uniform in [0, min(max, base * 2^(attempt-1))] so colliding writers spread out
+    private void backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffMs, baseBackoffMs << Math.min(attempt - 1, 20));
+        long sleepMs = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        try {
+            Thread.sleep(sleepMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off an optimistic-lock retry", e);
+        }
+    }
+
+    public Map<String, Object> metrics() {
+        long runs = executions.get();
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("maxAttempts", maxAttempts);
+        m.put("executions", runs);
+        m.put("conflicts", conflicts.get());
+        m.put("recovered", recovered.get());
+        m.put("exhausted", exhausted.get());
+        m.put("conflictRate", runs == 0 ? 0.0 : (double) conflicts.get() / runs);
+        return m;
+    }
+}
@@ -0,0 +1,347 @@
+package com.erp.procurement.service;
+
+import com.erp.procurement.domain.Money;
+import com.erp.procurement.dto.StatusAggregate;
+import com.erp.procurement.enums.PurchaseOrderStatus;
+import com.erp.procurement.repository.PurchaseOrderRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+/**
+ * In-memory KPI counters per PO status (order count, grand total and billed amount in cents).
+ * Workflow transitions apply their delta in O(1) after commit; a periodic reconciliation
+ * replaces the counters with one grouped aggregate query, which corrects drift from changes
+ * committed on other nodes or outside the workflow.
+ *
+ * <p>Nothing is locked across a commit or the aggregate query. Each transaction that records a
+ * delta notes its PostgreSQL transaction id just before committing. Reconciliation reads the
+ * aggregate together with the snapshot it was computed from, while the deltas applied meanwhile
+ * are journaled. When it swaps the counters it re-applies the journaled deltas the snapshot did
+ * not see, and marks transactions the snapshot already counted but that have not applied their
+ * delta yet, so those skip it. A delta is therefore counted once whichever side of the snapshot
+ * it commits on. The only lock is a short in-memory one around applying a delta and the swap.
+ */
+@Component
+public class PoKpiTracker {
+
+    private static final Logger log = Logger.getLogger(PoKpiTracker.class.getName());
+
+    private static final PurchaseOrderStatus[] STATUSES = PurchaseOrderStatus.values();
+
+    private static final String AGGREGATE_SQL = "SELECT status, COUNT(*), COALESCE(SUM(grand_total), 0), "
+            + "COALESCE(SUM(total_billed), 0) FROM purchase_orders GROUP BY status";
+
+    private static final class Counters {
+        final AtomicLongArray count = new AtomicLongArray(STATUSES.length);
+        final AtomicLongArray grandCents = new AtomicLongArray(STATUSES.length);
+        final AtomicLongArray billedCents = new AtomicLongArray(STATUSES.length);
+    }
+
+    /** Deltas of one transaction, summed per status and applied together after it commits. */
+    private static class Delta {
+        final long[] count = new long[STATUSES.length];
+        final long[] grandCents = new long[STATUSES.length];
+        final long[] billedCents = new long[STATUSES.length];
+
+        void add(PurchaseOrderStatus from, long billedBefore, PurchaseOrderStatus to, long billedAfter, long grand) {
+            if (from != null) {
+                count[from.ordinal()]--;
+                grandCents[from.ordinal()] -= grand;
+                billedCents[from.ordinal()] -= billedBefore;
+            }
+            count[to.ordinal()]++;
+            grandCents[to.ordinal()] += grand;
+            billedCents[to.ordinal()] += billedAfter;
+        }
+
+        void addAll(Delta other) {
+            for (int i = 0; i < STATUSES.length; i++) {
+                count[i] += other.count[i];
+                grandCents[i] += other.grandCents[i];
+                billedCents[i] += other.billedCents[i];
+            }
+        }
+
+        void applyTo(Counters c) {
+            for (int i = 0; i < STATUSES.length; i++) {
+                if (count[i] != 0) c.count.addAndGet(i, count[i]);
+                if (grandCents[i] != 0) c.grandCents.addAndGet(i, grandCents[i]);
+                if (billedCents[i] != 0) c.billedCents.addAndGet(i, billedCents[i]);
+            }
+        }
+    }
+
+    /**
+     * A PostgreSQL snapshot as returned by {@code txid_current_snapshot()}: transactions below
+     * xmin are finished, those at or above xmax had not started, and xip lists those in progress.
+     */
+    record TxSnapshot(long xmin, long xmax, Set<Long> inProgress) {
+
+        static TxSnapshot parse(String text) {
+            String[] parts = text.split(":", -1);
+            Set<Long> xip = new HashSet<>();
+            if (parts.length > 2 && !parts[2].isEmpty()) {
+                for (String xid : parts[2].split(",")) xip.add(Long.parseLong(xid));
+            }
+            return new TxSnapshot(Long.parseLong(parts[0]), Long.parseLong(parts[1]), xip);
+        }
+
+        /** Whether a transaction known to have committed had done so when the snapshot was taken. */
+        boolean sawCommitOf(long xid) {
+            return xid < xmin || (xid < xmax && !inProgress.contains(xid));
+        }
+    }
+
+    /** A transaction's delta applied while a reconciliation was running. */
+    private record Journaled(long xid, Delta delta) {}
+
+    private final PurchaseOrderRepository poRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshotTransaction;
+
+    // Guards counters, journal and absorbed; held only for in-memory work
+    private final ReentrantLock stateLock = new ReentrantLock();
+    private final ReentrantLock reconcileLock = new ReentrantLock();
+    private volatile Counters counters = new Counters();
+    private volatile boolean initialised = false;
+    private List<Journaled> journal;
+    private final Set<Long> absorbed = new HashSet<>();
+    private final Map<Long, Delta> committing = new ConcurrentHashMap<>();
+
+    private final AtomicLong reconciliations = new AtomicLong();
+    private final AtomicLong driftCorrections = new AtomicLong();
+    private final AtomicLong replayedDeltas = new AtomicLong();
+
+    public PoKpiTracker(PurchaseOrderRepository poRepository, JdbcTemplate jdbcTemplate,
+                        PlatformTransactionManager transactionManager) {
+        this.poRepository = poRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        snapshotTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        snapshotTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Moves a PO from one bucket to another. {@code from} is null for a newly created PO.
+     * Applied after the surrounding transaction commits, or immediately outside one; a change
+     * applied outside a transaction while a reconciliation runs may be counted twice until the
+     * next run.
+     */
+    public void recordChange(PurchaseOrderStatus from, BigDecimal fromBilled,
+                             PurchaseOrderStatus to, BigDecimal toBilled, BigDecimal grandTotal) {
+        recordChange(from, Money.toMinor(fromBilled), to, Money.toMinor(toBilled), Money.toMinor(grandTotal));
+    }
+
+    /** Same as above with amounts already in minor units. */
+    public void recordChange(PurchaseOrderStatus from, long billedBefore,
+                             PurchaseOrderStatus to, long billedAfter, long grand) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            Delta delta = new Delta();
+            delta.add(from, billedBefore, to, billedAfter, grand);
+            stateLock.lock();
+            try {
+                delta.applyTo(counters);
+            } finally {
+                stateLock.unlock();
+            }
+            return;
+        }
+        PendingDelta pending = null;
+        for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+            if (sync instanceof PendingDelta p && p.tracker() == this) {
+                pending = p;
+                break;
+            }
+        }
+        if (pending == null) {
+            pending = new PendingDelta();
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.add(from, billedBefore, to, billedAfter, grand);
+    }
+
+    /**
+     * The transaction's summed deltas, registered once per transaction. Kept as a synchronization
+     * rather than a bound resource so a nested REQUIRES_NEW transaction gets its own.
+     */
+    private final class PendingDelta extends Delta implements TransactionSynchronization {
+
+        private long xid = -1;
+
+        PoKpiTracker tracker() {
+            return PoKpiTracker.this;
+        }
+
+        // Still inside the transaction: its id is what a reconciliation snapshot is checked against
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            xid = jdbcTemplate.queryForObject("SELECT txid_current()", Long.class);
+            committing.put(xid, this);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (xid < 0) return;
+            stateLock.lock();
+            try {
+                committing.remove(xid);
+                if (absorbed.remove(xid) || status != STATUS_COMMITTED) return;
+                applyTo(counters);
+                if (journal != null) journal.add(new Journaled(xid, this));
+            } finally {
+                stateLock.unlock();
+            }
+        }
+    }
+
+    public Map<String, Object> snapshot() {
+        if (!initialised) reconcile();
+        return toDashboard(counters);
+    }
+
+    /** Single grouped query over purchase_orders, bypassing the in-memory counters. */
+    @Transactional(readOnly = true)
+    public Map<String, Object> computeFromDatabase() {
+        return toDashboard(load());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.kpi.reconcile-interval-ms:60000}", initialDelayString = "${app.kpi.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        reconcileLock.lock();
+        try {
+            stateLock.lock();
+            try {
+                journal = new ArrayList<>();
+            } finally {
+                stateLock.unlock();
+            }
+            boolean drifted;
+            try {
+                drifted = swap(snapshotTransaction.execute(status -> readAggregate()));
+            } finally {
+                stateLock.lock();
+                try {
+                    journal = null;
+                } finally {
+                    stateLock.unlock();
+                }
+            }
+            reconciliations.incrementAndGet();
+            if (drifted) {
+                driftCorrections.incrementAndGet();
+                log.info("KPI counters reconciled with database (drift corrected)");
+            }
+        } finally {
+            reconcileLock.unlock();
+        }
+    }
+
+    private record Aggregate(TxSnapshot snapshot, Counters counters) {}
+
+    // Repeatable read: the snapshot text and the aggregate come from the same snapshot
+    private Aggregate readAggregate() {
+        TxSnapshot snapshot = TxSnapshot.parse(
+                jdbcTemplate.queryForObject("SELECT txid_current_snapshot()::text", String.class));
+        List<StatusAggregate> rows = jdbcTemplate.query(AGGREGATE_SQL, (rs, rowNum) -> new StatusAggregate(
+                PurchaseOrderStatus.valueOf(rs.getString(1)), rs.getLong(2), rs.getBigDecimal(3), rs.getBigDecimal(4)));
+        return new Aggregate(snapshot, toCounters(rows));
+    }
+
+    private boolean swap(Aggregate aggregate) {
+        Counters fresh = aggregate.counters();
+        stateLock.lock();
+        try {
+            for (Journaled entry : journal) {
+                if (!aggregate.snapshot().sawCommitOf(entry.xid())) {
+                    entry.delta().applyTo(fresh);
+                    replayedDeltas.incrementAndGet();
+                }
+            }
+            // Committed before the snapshot but not applied yet: the aggregate already has them
+            Delta pending = new Delta();
+            for (Map.Entry<Long, Delta> entry : committing.entrySet()) {
+                if (aggregate.snapshot().sawCommitOf(entry.getKey())) {
+                    absorbed.add(entry.getKey());
+                    pending.addAll(entry.getValue());
+                }
+            }
+            Counters current = counters;
+            boolean drifted = false;
+            for (int i = 0; i < STATUSES.length && initialised; i++) {
+                if (fresh.count.get(i) != current.count.get(i) + pending.count[i]
+                        || fresh.grandCents.get(i) != current.grandCents.get(i) + pending.grandCents[i]
+                        || fresh.billedCents.get(i) != current.billedCents.get(i) + pending.billedCents[i]) {
+                    drifted = true;
+                    break;
+                }
+            }
+            counters = fresh;
+            initialised = true;
+            return drifted;
+        } finally {
+            stateLock.unlock();
+        }
+    }
+
+    private Counters load() {
+        return toCounters(poRepository.aggregateByStatus());
+    }
+
+    private static Counters toCounters(List<StatusAggregate> rows) {
+        Counters c = new Counters();
+        for (StatusAggregate row : rows) {
+            int i = row.status().ordinal();
+            c.count.set(i, row.count());
+            c.grandCents.set(i, Money.toMinor(row.grandTotal()));
+            c.billedCents.set(i, Money.toMinor(row.totalBilled()));
+        }
+        return c;
+    }
+
+    private static Map<String, Object> toDashboard(Counters c) {
+        Map<String, Object> kpi = new LinkedHashMap<>();
+        long total = 0;
+        for (int i = 0; i < STATUSES.length; i++) total += c.count.get(i);
+        kpi.put("totalOrders", total);
+        for (PurchaseOrderStatus status : STATUSES) {
+            kpi.put(status.name().toLowerCase() + "Count", c.count.get(status.ordinal()));
+        }
+        kpi.put("pendingValue", Money.fromMinor(c.grandCents.get(PurchaseOrderStatus.TO_RECEIVE.ordinal())
+                + c.grandCents.get(PurchaseOrderStatus.TO_BILL.ordinal())));
+        kpi.put("completedValue", Money.fromMinor(c.grandCents.get(PurchaseOrderStatus.COMPLETED.ordinal())));
+        kpi.put("totalBilledValue", Money.fromMinor(c.billedCents.get(PurchaseOrderStatus.COMPLETED.ordinal())));
+        return kpi;
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("reconciliations", reconciliations.get());
+        m.put("driftCorrections", driftCorrections.get());
+        m.put("replayedDeltas", replayedDeltas.get());
+        return m;
+    }
+}
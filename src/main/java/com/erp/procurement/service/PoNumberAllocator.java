@@ -0,0 +1,151 @@
+package com.erp.procurement.service;
+
+import com.erp.procurement.entity.PoNumberSequence;
+import com.erp.procurement.repository.PoNumberSequenceRepository;
+import com.erp.procurement.repository.PurchaseOrderRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+/**
+ * Cluster-safe PO number source. Each node reserves a block of numbers from the per-year row
+ * in {@code po_number_sequences} (in its own transaction, under a row lock) and hands them out
+ * from memory, so a PO create never probes for existing numbers. Numbers left in a block when
+ * the year rolls over or the node stops are skipped and reported as gaps.
+ */
+@Service
+public class PoNumberAllocator {
+
+    private static final Logger log = Logger.getLogger(PoNumberAllocator.class.getName());
+
+    private static final long FIRST_NUMBER = 1001;
+
+    private final PoNumberSequenceRepository sequenceRepository;
+    private final PurchaseOrderRepository poRepository;
+    private final TransactionTemplate requiresNew;
+    private final int blockSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private int blockYear = -1;
+    private long blockNext = 0;
+    private long blockEnd = 0;
+
+    private final AtomicLong allocated = new AtomicLong();
+    private final AtomicLong blocksReserved = new AtomicLong();
+    private final AtomicLong gapNumbers = new AtomicLong();
+    private volatile long lastReserveNanos = 0;
+
+    public PoNumberAllocator(PoNumberSequenceRepository sequenceRepository,
+                             PurchaseOrderRepository poRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.po-number.block-size:100}") int blockSize) {
+        this.sequenceRepository = sequenceRepository;
+        this.poRepository = poRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = blockSize;
+    }
+
+    public String nextPoNumber() {
+        int year = LocalDate.now().getYear();
+        long seq;
+        lock.lock();
+        try {
+            if (year != blockYear || blockNext >= blockEnd) {
+                if (blockYear != -1) gapNumbers.addAndGet(blockEnd - blockNext);
+                long start = reserveBlock(year);
+                blockYear = year;
+                blockNext = start;
+                blockEnd = start + blockSize;
+            }
+            seq = blockNext++;
+        } finally {
+            lock.unlock();
+        }
+        allocated.incrementAndGet();
+        return format(year, seq);
+    }
+
+    private long reserveBlock(int year) {
+        long started = System.nanoTime();
+        try {
+            Long start;
+            try {
+                start = requiresNew.execute(status -> claim(year));
+            } catch (DataIntegrityViolationException e) {
+                // Another node created this year's row first — the row now exists, claim from it
+                start = requiresNew.execute(status -> claim(year));
+            }
+            blocksReserved.incrementAndGet();
+            log.info("Reserved PO number block " + format(year, start) + " .. " + format(year, start + blockSize - 1));
+            return start;
+        } finally {
+            lastReserveNanos = System.nanoTime() - started;
+        }
+    }
+
+    private Long claim(int year) {
+        PoNumberSequence row = sequenceRepository.findForUpdate(year).orElse(null);
+        if (row == null) {
+            // First block of the year: continue after any numbers issued before this table existed
+            Long highest = poRepository.findMaxPoSequence(prefix(year));
+            long first = Math.max(FIRST_NUMBER, highest != null ? highest + 1 : FIRST_NUMBER);
+            sequenceRepository.saveAndFlush(new PoNumberSequence(year, first + blockSize));
+            return first;
+        }
+        long start = row.getNextValue();
+        row.setNextValue(start + blockSize);
+        return start;
+    }
+
+    private static String prefix(int year) {
+        return "PO-" + year + "-";
+    }
+
+    private static String format(int year, long seq) {
+        return prefix(year) + String.format("%04d", seq);
+    }
+
+    @PreDestroy
+    public void release() {
+        lock.lock();
+        try {
+            long unused = blockEnd - blockNext;
+            if (unused > 0) {
+                gapNumbers.addAndGet(unused);
+                log.info("Releasing PO number allocator with " + unused + " unused numbers in the current block");
+            }
+            blockNext = blockEnd;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            m.put("blockYear", blockYear);
+            m.put("blockRemaining", Math.max(0, blockEnd - blockNext));
+        } finally {
+            lock.unlock();
+        }
+        m.put("blockSize", blockSize);
+        m.put("allocated", allocated.get());
+        m.put("blocksReserved", blocksReserved.get());
+        m.put("gapNumbers", gapNumbers.get());
+        m.put("lastReserveMillis", lastReserveNanos / 1_000_000.0);
+        return m;
+    }
+}
@@ -0,0 +1,98 @@
+package com.erp.procurement.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PostgreSQL search over the {@code purchase_order_search} table (migration V3). Each row holds
+ * the order's normalised words in {@code search_text} and a generated {@code tsvector}; a GIN
+ * full-text index serves prefix terms ({@code word:*}) and a GIN trigram index serves fuzzy
+ * matches ({@code <%}), so neither path scans {@code purchase_orders}. Rows are refreshed inside
+ * the writing transaction. Very common terms are bounded by {@code candidateLimit} before
+ * ranking, which keeps latency flat but means ranking is over a sample for such terms.
+ */
+public class PostgresPurchaseOrderSearchIndex implements PurchaseOrderSearchIndex {
+
+    private static final String UPSERT_SQL = "INSERT INTO purchase_order_search "
+            + "(purchase_order_id, supplier_id, po_number, search_text) "
+            + "SELECT p.id, p.supplier_id, p.po_number, purchase_order_search_text(p.id) FROM purchase_orders p WHERE ";
+    private static final String ON_CONFLICT = " ON CONFLICT (purchase_order_id) DO UPDATE SET "
+            + "supplier_id = EXCLUDED.supplier_id, po_number = EXCLUDED.po_number, search_text = EXCLUDED.search_text";
+
+    // Exact PO-number prefix first, then trigram word similarity, then full-text rank
+    private static final String SEARCH_SQL = "SELECT c.purchase_order_id, "
+            + "(CASE WHEN lower(c.po_number) LIKE ? ESCAPE '\\' THEN 1.0 ELSE 0.0 END) "
+            + "+ word_similarity(?, c.search_text) + ts_rank(c.document, to_tsquery('simple', ?)) AS score "
+            + "FROM (SELECT purchase_order_id, po_number, search_text, document FROM purchase_order_search "
+            + "      WHERE document @@ to_tsquery('simple', ?) OR ? <% search_text LIMIT ?) c "
+            + "ORDER BY score DESC, c.purchase_order_id DESC LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int candidateLimit;
+
+    private final AtomicLong searches = new AtomicLong();
+    private final AtomicLong totalSearchNanos = new AtomicLong();
+    private final AtomicLong maxSearchNanos = new AtomicLong();
+    private final AtomicLong rowsIndexed = new AtomicLong();
+
+    public PostgresPurchaseOrderSearchIndex(JdbcTemplate jdbcTemplate, int candidateLimit) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.candidateLimit = candidateLimit;
+    }
+
+    @Override
+    public List<Match> search(String query, int limit) {
+        List<String> terms = PurchaseOrderSearchIndex.tokenize(query);
+        if (terms.isEmpty()) return List.of();
+        String words = String.join(" ", terms);
+        String prefixQuery = String.join(" & ", terms.stream().map(t -> t + ":*").toList());
+        String poPrefix = escapeLike(query.trim().toLowerCase()) + "%";
+
+        long start = System.nanoTime();
+        try {
+            return jdbcTemplate.query(SEARCH_SQL,
+                    (rs, rowNum) -> new Match(rs.getLong(1), rs.getDouble(2)),
+                    poPrefix, words, prefixQuery, prefixQuery, words, candidateLimit, limit);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            searches.incrementAndGet();
+            totalSearchNanos.addAndGet(elapsed);
+            maxSearchNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    @Override
+    public void index(Collection<Long> purchaseOrderIds) {
+        if (purchaseOrderIds.isEmpty()) return;
+        Long[] ids = purchaseOrderIds.toArray(Long[]::new);
+        rowsIndexed.addAndGet(jdbcTemplate.update(UPSERT_SQL + "p.id = ANY (?)" + ON_CONFLICT,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids))));
+    }
+
+    @Override
+    public void reindexSupplier(Long supplierId) {
+        rowsIndexed.addAndGet(jdbcTemplate.update(UPSERT_SQL + "p.supplier_id = ?" + ON_CONFLICT, supplierId));
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        long count = searches.get();
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("engine", "postgres");
+        m.put("searches", count);
+        m.put("avgSearchMillis", count == 0 ? 0.0 : totalSearchNanos.get() / 1_000_000.0 / count);
+        m.put("maxSearchMillis", maxSearchNanos.get() / 1_000_000.0);
+        m.put("rowsIndexed", rowsIndexed.get());
+        m.put("candidateLimit", candidateLimit);
+        return m;
+    }
+}
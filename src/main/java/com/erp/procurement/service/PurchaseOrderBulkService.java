@@ -0,0 +1,268 @@
+package com.erp.procurement.service;
+
+import com.erp.procurement.domain.Money;
+import com.erp.procurement.dto.BulkPoResult;
+import com.erp.procurement.dto.Dtos;
+import com.erp.procurement.entity.Supplier;
+import com.erp.procurement.entity.User;
+import com.erp.procurement.enums.AuditAction;
+import com.erp.procurement.enums.PurchaseOrderStatus;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bulk PO creation for machine-generated orders (e.g. the nightly MRP run). The request body is
+ * a JSON array read one element at a time, so memory stays bounded by the chunk size. Each chunk
+ * draws its header and item ids from the identity sequences in one round trip and inserts them
+ * with JDBC batches in a single transaction; if a chunk fails, its orders are retried one by one
+ * so a single bad order does not take the others down with it.
+ */
+@Service
+public class PurchaseOrderBulkService {
+
+    private static final Logger log = Logger.getLogger(PurchaseOrderBulkService.class.getName());
+
+    private static final String NEXT_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence(?, 'id')) FROM generate_series(1, ?)";
+
+    private static final String INSERT_PO_SQL = "INSERT INTO purchase_orders (id, po_number, supplier_id, "
+            + "created_by_id, status, order_date, expected_delivery_date, grand_total, total_received, "
+            + "total_billed, receipt_count, remarks, created_at, updated_at, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0, 0, 0, ?, ?, ?, 0)";
+
+    private static final String INSERT_ITEM_SQL = "INSERT INTO purchase_order_items (id, purchase_order_id, "
+            + "item_description, item_code, unit, ordered_qty, received_qty, unit_price, line_total) "
+            + "VALUES (?, ?, ?, ?, ?, ?, 0, ?, ?)";
+
+    /** A validated order with its number assigned, ready to insert. */
+    private record Prepared(int index, Dtos.CreatePoRequest request, Supplier supplier,
+                            String poNumber, long grandTotalMinor, long[] lineTotalsMinor) {}
+
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ReferenceDataCache referenceDataCache;
+    private final PoNumberAllocator poNumberAllocator;
+    private final AuditService auditService;
+    private final PoKpiTracker kpiTracker;
+    private final PurchaseOrderSearchIndex searchIndex;
+    private final int chunkSize;
+
+    public PurchaseOrderBulkService(ObjectMapper objectMapper,
+                                    JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    ReferenceDataCache referenceDataCache,
+                                    PoNumberAllocator poNumberAllocator,
+                                    AuditService auditService,
+                                    PoKpiTracker kpiTracker,
+                                    PurchaseOrderSearchIndex searchIndex,
+                                    @Value("${app.po.bulk.chunk-size:500}") int chunkSize) {
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.referenceDataCache = referenceDataCache;
+        this.poNumberAllocator = poNumberAllocator;
+        this.auditService = auditService;
+        this.kpiTracker = kpiTracker;
+        this.searchIndex = searchIndex;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Reads a JSON array of create requests (same shape as {@code POST /api/purchase-orders}) and
+     * creates them chunk by chunk. Chunks already processed stay committed if the stream turns out
+     * to be malformed further on; the position of the bad element is reported as a failure.
+     */
+    public List<BulkPoResult> createFromStream(InputStream body, String username) throws IOException {
+        User user = referenceDataCache.findUser(username)
+                .orElseThrow(() -> new RuntimeException("User not found: " + username));
+        List<BulkPoResult> results = new ArrayList<>();
+        List<Dtos.CreatePoRequest> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Bulk request body must be a JSON array of purchase orders");
+            }
+            try {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    chunk.add(objectMapper.readValue(parser, Dtos.CreatePoRequest.class));
+                    if (chunk.size() == chunkSize) {
+                        results.addAll(processChunk(index, chunk, user));
+                        index += chunk.size();
+                        chunk.clear();
+                    }
+                }
+            } catch (JsonProcessingException e) {
+                results.addAll(processChunk(index, chunk, user));
+                index += chunk.size();
+                chunk.clear();
+                results.add(BulkPoResult.failed(index, "Malformed input, remaining orders skipped: " + e.getOriginalMessage()));
+            }
+        }
+        if (!chunk.isEmpty()) results.addAll(processChunk(index, chunk, user));
+        return results;
+    }
+
+    private List<BulkPoResult> processChunk(int firstIndex, List<Dtos.CreatePoRequest> requests, User user) {
+        List<BulkPoResult> results = new ArrayList<>(requests.size());
+        List<Prepared> valid = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                valid.add(prepare(firstIndex + i, requests.get(i)));
+            } catch (RuntimeException e) {
+                results.add(BulkPoResult.failed(firstIndex + i, e.getMessage()));
+            }
+        }
+        if (valid.isEmpty()) return results;
+
+        try {
+            results.addAll(transactionTemplate.execute(status -> insert(valid, user)));
+        } catch (RuntimeException chunkFailure) {
+            log.log(Level.WARNING, "Bulk chunk of " + valid.size() + " POs failed, retrying individually", chunkFailure);
+            for (Prepared p : valid) {
+                try {
+                    results.addAll(transactionTemplate.execute(status -> insert(List.of(p), user)));
+                } catch (RuntimeException e) {
+                    results.add(BulkPoResult.failed(p.index(), rootMessage(e)));
+                }
+            }
+        }
+        results.sort((a, b) -> Integer.compare(a.index(), b.index()));
+        return results;
+    }
+
+    private Prepared prepare(int index, Dtos.CreatePoRequest request) {
+        if (request.supplierId() == null) throw new RuntimeException("supplierId is required");
+        Supplier supplier = referenceDataCache.findSupplier(request.supplierId())
+                .orElseThrow(() -> new RuntimeException("Supplier not found: " + request.supplierId()));
+        List<Dtos.ItemRequest> items = request.items();
+        if (items == null || items.isEmpty()) throw new RuntimeException("Purchase order must have at least one item");
+
+        long[] lineTotals = new long[items.size()];
+        Money.Total total = new Money.Total();
+        for (int i = 0; i < items.size(); i++) {
+            Dtos.ItemRequest item = items.get(i);
+            if (item.itemDescription() == null || item.orderedQty() == null || item.unitPrice() == null) {
+                throw new RuntimeException("Each item needs itemDescription, orderedQty and unitPrice");
+            }
+            lineTotals[i] = total.addLine(item.orderedQty(), item.unitPrice());
+        }
+        if (total.minor() <= 0) throw new RuntimeException("Grand total must be greater than zero");
+
+        return new Prepared(index, request, supplier, poNumberAllocator.nextPoNumber(), total.minor(), lineTotals);
+    }
+
+    private List<BulkPoResult> insert(List<Prepared> orders, User user) {
+        int itemCount = orders.stream().mapToInt(p -> p.request().items().size()).sum();
+        List<Long> poIds = nextIds("purchase_orders", orders.size());
+        List<Long> itemIds = nextIds("purchase_order_items", itemCount);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> headers = new ArrayList<>(orders.size());
+        List<Object[]> items = new ArrayList<>(itemCount);
+        int nextItem = 0;
+        for (int i = 0; i < orders.size(); i++) {
+            Prepared p = orders.get(i);
+            Dtos.CreatePoRequest r = p.request();
+            long poId = poIds.get(i);
+            headers.add(new Object[]{poId, p.poNumber(), p.supplier().getId(), user.getId(),
+                    PurchaseOrderStatus.DRAFT.name(),
+                    r.orderDate() != null ? r.orderDate() : LocalDate.now(),
+                    r.expectedDeliveryDate(), Money.fromMinor(p.grandTotalMinor()), r.remarks(), now});
+            for (int j = 0; j < r.items().size(); j++) {
+                Dtos.ItemRequest item = r.items().get(j);
+                items.add(new Object[]{itemIds.get(nextItem++), poId, item.itemDescription(),
+                        item.itemCode() != null ? item.itemCode() : "",
+                        item.unit() != null ? item.unit() : "PCS",
+                        item.orderedQty(), item.unitPrice(), Money.fromMinor(p.lineTotalsMinor()[j])});
+            }
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_PO_SQL, headers, headers.size(), PurchaseOrderBulkService::bindHeader);
+        jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, items, items.size(), PurchaseOrderBulkService::bindItem);
+        searchIndex.index(poIds);
+
+        List<BulkPoResult> results = new ArrayList<>(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            Prepared p = orders.get(i);
+            long poId = poIds.get(i);
+            kpiTracker.recordChange(null, 0, PurchaseOrderStatus.DRAFT, 0, p.grandTotalMinor());
+            auditService.log(AuditAction.PO_CREATED, "PurchaseOrder", poId, user.getUsername(), null, "DRAFT",
+                    "PO " + p.poNumber() + " created for supplier " + p.supplier().getSupplierName()
+                            + " | Total: " + Money.fromMinor(p.grandTotalMinor()) + " (bulk)");
+            results.add(BulkPoResult.created(p.index(), poId, p.poNumber()));
+        }
+        return results;
+    }
+
+    // Postgres identity columns are backed by a sequence; one query reserves a whole block of ids
+    private List<Long> nextIds(String table, int count) {
+        return jdbcTemplate.queryForList(NEXT_IDS_SQL, Long.class, table, count);
+    }
+
+    private static void bindHeader(PreparedStatement ps, Object[] row) throws SQLException {
+        ps.setLong(1, (Long) row[0]);
+        ps.setString(2, (String) row[1]);
+        ps.setLong(3, (Long) row[2]);
+        ps.setLong(4, (Long) row[3]);
+        ps.setString(5, (String) row[4]);
+        ps.setDate(6, Date.valueOf((LocalDate) row[5]));
+        if (row[6] != null) ps.setDate(7, Date.valueOf((LocalDate) row[6])); else ps.setNull(7, Types.DATE);
+        ps.setBigDecimal(8, (BigDecimal) row[7]);
+        ps.setString(9, (String) row[8]);
+        Timestamp now = Timestamp.valueOf((LocalDateTime) row[9]);
+        ps.setTimestamp(10, now);
+        ps.setTimestamp(11, now);
+    }
+
+    private static void bindItem(PreparedStatement ps, Object[] row) throws SQLException {
+        ps.setLong(1, (Long) row[0]);
+        ps.setLong(2, (Long) row[1]);
+        ps.setString(3, (String) row[2]);
+        ps.setString(4, (String) row[3]);
+        ps.setString(5, (String) row[4]);
+        ps.setBigDecimal(6, (BigDecimal) row[5]);
+        ps.setBigDecimal(7, (BigDecimal) row[6]);
+        ps.setBigDecimal(8, (BigDecimal) row[7]);
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null) root = root.getCause();
+        return root.getMessage();
+    }
+
+    public Map<String, Object> summarize(List<BulkPoResult> results) {
+        long created = results.stream().filter(r -> BulkPoResult.CREATED.equals(r.status())).count();
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("processed", results.size());
+        m.put("created", created);
+        m.put("failed", results.size() - created);
+        m.put("results", results);
+        return m;
+    }
+}
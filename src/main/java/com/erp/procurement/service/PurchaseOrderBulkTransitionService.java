@@ -0,0 +1,210 @@
+package com.erp.procurement.service;
+
+import com.erp.procurement.domain.Money;
+import com.erp.procurement.domain.PurchaseOrderStateMachine;
+import com.erp.procurement.dto.BulkPoResult;
+import com.erp.procurement.entity.User;
+import com.erp.procurement.enums.AuditAction;
+import com.erp.procurement.enums.PurchaseOrderAction;
+import com.erp.procurement.enums.PurchaseOrderStatus;
+import com.erp.procurement.enums.Role;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Submit, approve or cancel many POs in one call (month-end approval runs). The approver is
+ * loaded and checked once, all target rows are read in one query and validated in memory, and
+ * the valid ones are updated with one JDBC batch in a single transaction. Each UPDATE is
+ * guarded by the version that was read, so a PO changed in between (a receipt, a single-PO
+ * transition) is reported as failed instead of overwritten. Audit records are staged in the
+ * outbox and written as one batch at commit.
+ */
+@Service
+public class PurchaseOrderBulkTransitionService {
+
+    public enum Transition {
+        SUBMIT(PurchaseOrderAction.SUBMIT, AuditAction.PO_SUBMITTED),
+        APPROVE(PurchaseOrderAction.APPROVE, AuditAction.PO_APPROVED),
+        CANCEL(PurchaseOrderAction.CANCEL, AuditAction.PO_CANCELLED);
+
+        final PurchaseOrderAction workflowAction;
+        final PurchaseOrderStatus target;
+        final AuditAction action;
+
+        Transition(PurchaseOrderAction workflowAction, AuditAction action) {
+            this.workflowAction = workflowAction;
+            this.target = PurchaseOrderStateMachine.target(workflowAction);
+            this.action = action;
+        }
+    }
+
+    private static final String SELECT_SQL = "SELECT id, po_number, status, version, total_received, "
+            + "total_billed, grand_total, remarks FROM purchase_orders WHERE id IN (%s)";
+
+    private static final String SUBMIT_SQL = "UPDATE purchase_orders SET status = 'SUBMITTED', "
+            + "version = version + 1, updated_at = ? WHERE id = ? AND version = ?";
+
+    private static final String APPROVE_SQL = "UPDATE purchase_orders SET status = 'APPROVED', approved_by_id = ?, "
+            + "approved_at = ?, version = version + 1, updated_at = ? WHERE id = ? AND version = ?";
+
+    private static final String CANCEL_SQL = "UPDATE purchase_orders SET status = 'CANCELLED', remarks = ?, "
+            + "version = version + 1, updated_at = ? WHERE id = ? AND version = ?";
+
+    /** The columns a transition needs, read once for the whole request. */
+    private record Row(long id, String poNumber, PurchaseOrderStatus status, long version,
+                       BigDecimal totalReceived, BigDecimal totalBilled, BigDecimal grandTotal, String remarks) {}
+
+    private static final RowMapper<Row> ROW_MAPPER = (rs, rowNum) -> new Row(
+            rs.getLong("id"),
+            rs.getString("po_number"),
+            PurchaseOrderStatus.valueOf(rs.getString("status")),
+            rs.getLong("version"),
+            rs.getBigDecimal("total_received"),
+            rs.getBigDecimal("total_billed"),
+            rs.getBigDecimal("grand_total"),
+            rs.getString("remarks"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReferenceDataCache referenceDataCache;
+    private final AuditService auditService;
+    private final PoKpiTracker kpiTracker;
+    private final int maxIds;
+
+    public PurchaseOrderBulkTransitionService(JdbcTemplate jdbcTemplate,
+                                              ReferenceDataCache referenceDataCache,
+                                              AuditService auditService,
+                                              PoKpiTracker kpiTracker,
+                                              @Value("${app.po.bulk.transition-max-ids:1000}") int maxIds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.referenceDataCache = referenceDataCache;
+        this.auditService = auditService;
+        this.kpiTracker = kpiTracker;
+        this.maxIds = maxIds;
+    }
+
+    /**
+     * Applies {@code transition} to every id and reports one result per input position. A failed
+     * PO does not affect the others; a missing approval role or an oversized request fails the call.
+     */
+    @Transactional
+    public List<BulkPoResult> apply(Transition transition, List<Long> ids, String reason, String username) {
+        if (ids == null || ids.isEmpty()) throw new RuntimeException("ids must not be empty");
+        if (ids.size() > maxIds) throw new RuntimeException("At most " + maxIds + " ids per request");
+        User user = referenceDataCache.findUser(username)
+                .orElseThrow(() -> new RuntimeException("User not found: " + username));
+        if (transition == Transition.APPROVE
+                && user.getRole() != Role.ROLE_PURCHASING_MANAGER && user.getRole() != Role.ROLE_ADMIN) {
+            throw new AccessDeniedException("Only Purchasing Managers can approve Purchase Orders");
+        }
+
+        Map<Long, Row> rows = load(ids);
+        BulkPoResult[] results = new BulkPoResult[ids.size()];
+        List<Integer> positions = new ArrayList<>(ids.size());
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            Long id = ids.get(i);
+            Row row = id != null ? rows.get(id) : null;
+            String error = id == null ? "id is required"
+                    : !seen.add(id) ? "Duplicate id in request"
+                    : row == null ? "Purchase Order not found: " + id
+                    : validate(transition, row);
+            if (error != null) {
+                results[i] = BulkPoResult.failed(i, id, error);
+            } else {
+                positions.add(i);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        String cancelRemark = "CANCELLED: " + reason;
+        List<Object[]> args = new ArrayList<>(positions.size());
+        for (int i : positions) {
+            Row row = rows.get(ids.get(i));
+            args.add(switch (transition) {
+                case SUBMIT -> new Object[]{Timestamp.valueOf(now), row.id(), row.version()};
+                case APPROVE -> new Object[]{user.getId(), Timestamp.valueOf(now), Timestamp.valueOf(now),
+                        row.id(), row.version()};
+                case CANCEL -> new Object[]{(row.remarks() != null ? row.remarks() + " | " : "") + cancelRemark,
+                        Timestamp.valueOf(now), row.id(), row.version()};
+            });
+        }
+        int[] counts = args.isEmpty() ? new int[0] : switch (transition) {
+            case SUBMIT -> jdbcTemplate.batchUpdate(SUBMIT_SQL, args,
+                    new int[]{Types.TIMESTAMP, Types.BIGINT, Types.BIGINT});
+            case APPROVE -> jdbcTemplate.batchUpdate(APPROVE_SQL, args,
+                    new int[]{Types.BIGINT, Types.TIMESTAMP, Types.TIMESTAMP, Types.BIGINT, Types.BIGINT});
+            case CANCEL -> jdbcTemplate.batchUpdate(CANCEL_SQL, args,
+                    new int[]{Types.VARCHAR, Types.TIMESTAMP, Types.BIGINT, Types.BIGINT});
+        };
+
+        String description = switch (transition) {
+            case SUBMIT -> "PO submitted for approval (bulk)";
+            case APPROVE -> "PO approved by " + user.getFullName() + " (bulk)";
+            case CANCEL -> "Cancelled: " + reason + " (bulk)";
+        };
+        for (int k = 0; k < positions.size(); k++) {
+            int i = positions.get(k);
+            Row row = rows.get(ids.get(i));
+            // Drivers may report SUCCESS_NO_INFO for batched statements; only an explicit 0 means the guard failed
+            if (counts[k] == 0) {
+                results[i] = BulkPoResult.failed(i, row.id(), "Purchase order was modified concurrently, retry");
+                continue;
+            }
+            if (counts[k] < 0 && counts[k] != Statement.SUCCESS_NO_INFO) {
+                results[i] = BulkPoResult.failed(i, row.id(), "Update failed");
+                continue;
+            }
+            long billed = Money.toMinor(row.totalBilled());
+            kpiTracker.recordChange(row.status(), billed, transition.target, billed, Money.toMinor(row.grandTotal()));
+            auditService.log(transition.action, "PurchaseOrder", row.id(), username,
+                    row.status().name(), transition.target.name(), description);
+            results[i] = BulkPoResult.transitioned(i, row.id(), row.poNumber(), transition.target);
+        }
+        return List.of(results);
+    }
+
+    // Same rules and messages as the single-PO paths in PurchaseOrderService
+    private static String validate(Transition transition, Row row) {
+        return transition == Transition.CANCEL
+                ? PurchaseOrderStateMachine.cancelRejection(row.status(), row.totalReceived())
+                : PurchaseOrderStateMachine.rejection(row.status(), transition.workflowAction);
+    }
+
+    private Map<Long, Row> load(List<Long> ids) {
+        List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+        Map<Long, Row> rows = new HashMap<>(distinct.size() * 2);
+        if (distinct.isEmpty()) return rows;
+        String sql = String.format(SELECT_SQL, String.join(", ", Collections.nCopies(distinct.size(), "?")));
+        for (Row row : jdbcTemplate.query(sql, ROW_MAPPER, distinct.toArray())) rows.put(row.id(), row);
+        return rows;
+    }
+
+    public Map<String, Object> summarize(List<BulkPoResult> results) {
+        long failed = results.stream().filter(r -> BulkPoResult.FAILED.equals(r.status())).count();
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("processed", results.size());
+        m.put("succeeded", results.size() - failed);
+        m.put("failed", failed);
+        m.put("results", results);
+        return m;
+    }
+}
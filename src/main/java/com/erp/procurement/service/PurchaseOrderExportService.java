@@ -0,0 +1,241 @@
+package com.erp.procurement.service;
+
+import com.erp.procurement.enums.PurchaseOrderStatus;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Streams purchase order headers straight from a forward-only JDBC cursor to an output stream as
+ * NDJSON or CSV. Rows are written as they are fetched and never collected, so memory use is
+ * bounded by the fetch size regardless of how many rows match. The query runs in a read-only
+ * transaction because the Postgres driver only honours the fetch size with autocommit off.
+ * Users are exported by full name, as in the other PO responses.
+ *
+ * <p>A client that disconnects mid-download ends the export quietly: the response is already
+ * streaming, so there is no way to report an error on it, and the abort is only logged. Any other
+ * failure mid-stream, such as a lost database connection, ends the output with an error record
+ * in the export's format and throws {@link ExportFailedException}, so a truncated file never
+ * looks complete.
+ */
+@Service
+public class PurchaseOrderExportService {
+
+    private static final Logger log = Logger.getLogger(PurchaseOrderExportService.class.getName());
+
+    public enum Format { NDJSON, CSV }
+
+    /** The export stopped on a server-side failure after {@link #rowsWritten()} rows. */
+    public static class ExportFailedException extends RuntimeException {
+        private final long rowsWritten;
+
+        ExportFailedException(long rowsWritten, Throwable cause) {
+            super("PO export failed after " + rowsWritten + " rows", cause);
+            this.rowsWritten = rowsWritten;
+        }
+
+        public long rowsWritten() { return rowsWritten; }
+    }
+
+    private static final String[] COLUMNS = {
+            "id", "poNumber", "supplierId", "supplierCode", "supplierName", "status", "orderDate",
+            "expectedDeliveryDate", "grandTotal", "totalReceived", "totalBilled", "createdBy",
+            "approvedBy", "approvedAt", "remarks", "createdAt", "updatedAt"
+    };
+
+    private static final String SELECT_SQL = "SELECT po.id, po.po_number, s.id AS supplier_id, s.supplier_code, "
+            + "s.supplier_name, po.status, po.order_date, po.expected_delivery_date, po.grand_total, "
+            + "po.total_received, po.total_billed, cb.full_name AS created_by, ab.full_name AS approved_by, "
+            + "po.approved_at, po.remarks, po.created_at, po.updated_at "
+            + "FROM purchase_orders po "
+            + "JOIN suppliers s ON s.id = po.supplier_id "
+            + "JOIN users cb ON cb.id = po.created_by_id "
+            + "LEFT JOIN users ab ON ab.id = po.approved_by_id";
+
+    private final JdbcTemplate streamingJdbc;
+    private final TransactionTemplate readOnlyTx;
+    private final ObjectMapper objectMapper;
+
+    public PurchaseOrderExportService(DataSource dataSource,
+                                      PlatformTransactionManager transactionManager,
+                                      ObjectMapper objectMapper,
+                                      @Value("${app.po.export.fetch-size:1000}") int fetchSize) {
+        this.streamingJdbc = new JdbcTemplate(dataSource);
+        this.streamingJdbc.setFetchSize(fetchSize);
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes every matching PO (ordered by id) and returns the number of rows written, which is
+     * short of the full result if the client disconnected.
+     *
+     * @throws ExportFailedException if the query failed; the output then ends with an error record
+     */
+    public long export(Format format, PurchaseOrderStatus status, Long supplierId,
+                       LocalDate from, LocalDate to, OutputStream out) {
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        List<Object> args = new ArrayList<>();
+        List<String> where = new ArrayList<>();
+        if (status != null)     { where.add("po.status = ?");       args.add(status.name()); }
+        if (supplierId != null) { where.add("po.supplier_id = ?");  args.add(supplierId); }
+        if (from != null)       { where.add("po.order_date >= ?");  args.add(Date.valueOf(from)); }
+        if (to != null)         { where.add("po.order_date <= ?");  args.add(Date.valueOf(to)); }
+        if (!where.isEmpty()) sql.append(" WHERE ").append(String.join(" AND ", where));
+        sql.append(" ORDER BY po.id");
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        long started = System.nanoTime();
+        long[] rows = {0};
+        boolean[] midRow = {false};
+        RowWriter rowWriter = null;
+        try {
+            rowWriter = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+            rowWriter.header();
+            RowWriter target = rowWriter;
+            readOnlyTx.executeWithoutResult(txStatus ->
+                    streamingJdbc.query(sql.toString(), rs -> {
+                        midRow[0] = true;
+                        try {
+                            target.row(rs);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        midRow[0] = false;
+                        rows[0]++;
+                    }, args.toArray()));
+            writer.flush();
+        } catch (IOException | UncheckedIOException e) {
+            // Client went away mid-download; the cursor is closed with the transaction. Flushing the
+            // buffer would only fail again on the dead connection.
+            log.info("PO export aborted by the client after " + rows[0] + " rows: " + e.getMessage());
+            return rows[0];
+        } catch (RuntimeException e) {
+            log.log(Level.SEVERE, "PO export failed after " + rows[0] + " rows", e);
+            if (rowWriter != null) {
+                try {
+                    rowWriter.failure("Export failed after " + rows[0] + " rows; the file is incomplete", midRow[0]);
+                    writer.flush();
+                } catch (IOException | RuntimeException trailerFailure) {
+                    e.addSuppressed(trailerFailure);
+                }
+            }
+            throw new ExportFailedException(rows[0], e);
+        }
+        log.info("Exported " + rows[0] + " POs as " + format + " in " + (System.nanoTime() - started) / 1_000_000 + " ms");
+        return rows[0];
+    }
+
+    private interface RowWriter {
+        void header() throws IOException;
+        void row(ResultSet rs) throws SQLException, IOException;
+        /** Ends the output with an error record; {@code midRow} if the failure interrupted a row. */
+        void failure(String message, boolean midRow) throws IOException;
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+        private final Writer writer;
+        private final JsonGenerator json;
+
+        NdjsonRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            this.json = objectMapper.getFactory().createGenerator(writer);
+            this.json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // flush() per row only hands the row to the buffered writer, not to the socket
+            this.json.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        }
+
+        @Override
+        public void header() {}
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            json.writeStartObject();
+            for (int i = 0; i < COLUMNS.length; i++) {
+                Object value = value(rs, i + 1);
+                json.writeFieldName(COLUMNS[i]);
+                if (value == null) json.writeNull();
+                else if (value instanceof Long l) json.writeNumber(l);
+                else if (value instanceof BigDecimal d) json.writeNumber(d);
+                else json.writeString(value.toString());
+            }
+            json.writeEndObject();
+            json.flush();
+            writer.write('\n');
+        }
+
+        @Override
+        public void failure(String message, boolean midRow) throws IOException {
+            // A half-written row never left the generator, which is unusable now; write around it
+            writer.write(objectMapper.writeValueAsString(Map.of("error", message)));
+            writer.write('\n');
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) { this.writer = writer; }
+
+        @Override
+        public void header() throws IOException {
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            for (int i = 0; i < COLUMNS.length; i++) {
+                if (i > 0) writer.write(',');
+                Object value = value(rs, i + 1);
+                if (value != null) writer.write(escape(value.toString()));
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void failure(String message, boolean midRow) throws IOException {
+            if (midRow) writer.write("\r\n");
+            writer.write(escape("ERROR: " + message));
+            writer.write("\r\n");
+        }
+
+        private static String escape(String s) {
+            boolean quote = s.indexOf(',') >= 0 || s.indexOf('"') >= 0 || s.indexOf('\n') >= 0 || s.indexOf('\r') >= 0;
+            return quote ? '"' + s.replace("\"", "\"\"") + '"' : s;
+        }
+    }
+
+    private static Object value(ResultSet rs, int column) throws SQLException {
+        Object value = rs.getObject(column);
+        if (value instanceof Integer i) return i.longValue();
+        if (value instanceof Date d) return d.toLocalDate();
+        if (value instanceof Timestamp t) return t.toLocalDateTime();
+        return value;
+    }
+}
@@ -0,0 +1,33 @@
+package com.erp.procurement.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ranked free-text lookup over PO number, supplier code and name, and item codes and
+ * descriptions. Every query term must match a word of the order, either exactly, as a prefix
+ * or fuzzily (trigram similarity). Implementations return ids only; callers load the rows.
+ */
+public interface PurchaseOrderSearchIndex {
+
+    record Match(Long purchaseOrderId, double score) {}
+
+    /** Best matches first, at most {@code limit}. */
+    List<Match> search(String query, int limit);
+
+    /** (Re)indexes the given orders; call from the transaction that wrote them. */
+    void index(Collection<Long> purchaseOrderIds);
+
+    /** Refreshes every order of a supplier after its name or code changed. */
+    void reindexSupplier(Long supplierId);
+
+    Map<String, Object> metrics();
+
+    /** Lower-cased letter/digit runs, the same words the database side indexes. */
+    static List<String> tokenize(String text) {
+        if (text == null) return List.of();
+        String normalized = text.toLowerCase().replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+        return normalized.isEmpty() ? List.of() : List.of(normalized.split(" "));
+    }
+}
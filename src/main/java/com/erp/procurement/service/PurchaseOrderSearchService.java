@@ -0,0 +1,51 @@
+package com.erp.procurement.service;
+
+import com.erp.procurement.dto.Dtos;
+import com.erp.procurement.dto.PurchaseOrderSummary;
+import com.erp.procurement.repository.PurchaseOrderRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Free-text PO search: the {@link PurchaseOrderSearchIndex} ranks ids, then one projection
+ * query loads the matching headers (without items) in rank order.
+ */
+@Service
+public class PurchaseOrderSearchService {
+
+    private final PurchaseOrderSearchIndex searchIndex;
+    private final PurchaseOrderRepository poRepository;
+    private final int maxResults;
+
+    public PurchaseOrderSearchService(PurchaseOrderSearchIndex searchIndex,
+                                      PurchaseOrderRepository poRepository,
+                                      @Value("${app.po.search.max-results:100}") int maxResults) {
+        this.searchIndex = searchIndex;
+        this.poRepository = poRepository;
+        this.maxResults = maxResults;
+    }
+
+    @Transactional(readOnly = true)
+    public Dtos.SearchResponse search(String query, int limit) {
+        if (query == null || query.isBlank()) throw new RuntimeException("Search query must not be empty");
+        long start = System.nanoTime();
+        List<PurchaseOrderSearchIndex.Match> matches = searchIndex.search(query, Math.max(1, Math.min(limit, maxResults)));
+        List<Dtos.SearchHit> hits = List.of();
+        if (!matches.isEmpty()) {
+            Map<Long, PurchaseOrderSummary> byId = poRepository.findSummariesByIdIn(
+                            matches.stream().map(PurchaseOrderSearchIndex.Match::purchaseOrderId).toList())
+                    .stream().collect(Collectors.toMap(PurchaseOrderSummary::id, Function.identity()));
+            hits = matches.stream()
+                    .filter(m -> byId.containsKey(m.purchaseOrderId()))
+                    .map(m -> new Dtos.SearchHit(m.score(), byId.get(m.purchaseOrderId())))
+                    .toList();
+        }
+        return new Dtos.SearchResponse(query, hits, (System.nanoTime() - start) / 1_000_000.0);
+    }
+}
@@ -1,20 +1,30 @@
 package com.erp.procurement.service;
 
+import com.erp.procurement.domain.Money;
+import com.erp.procurement.domain.PurchaseOrderStateMachine;
+import com.erp.procurement.dto.Dtos;
+import com.erp.procurement.dto.PurchaseOrderItemSummary;
+import com.erp.procurement.dto.PurchaseOrderSummary;
+import com.erp.procurement.dto.SeekCursor;
+import com.erp.procurement.dto.SeekPage;
 import com.erp.procurement.entity.*;
 import com.erp.procurement.enums.AuditAction;
+import com.erp.procurement.enums.PurchaseOrderAction;
 import com.erp.procurement.enums.PurchaseOrderStatus;
 import com.erp.procurement.enums.Role;
 import com.erp.procurement.repository.*;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.*;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 import java.util.logging.Logger;
 
 @Service
@@ -26,39 +36,64 @@ public class PurchaseOrderService {
     private final PurchaseOrderItemRepository itemRepository;
     private final PurchaseReceiptRepository receiptRepository;
     private final PurchaseInvoiceRepository invoiceRepository;
-    private final SupplierRepository supplierRepository;
-    private final UserRepository userRepository;
+    private final ReferenceDataCache referenceDataCache;
     private final AuditService auditService;
-
-    private final AtomicLong poSequence = new AtomicLong(1000);
+    private final PoNumberAllocator poNumberAllocator;
+    private final PoKpiTracker kpiTracker;
+    private final OptimisticRetryExecutor retryExecutor;
+    private final PurchaseOrderTotalsRepository totalsRepository;
+    private final PurchaseOrderSearchIndex searchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxPageSize;
 
     public PurchaseOrderService(PurchaseOrderRepository poRepository,
                                  PurchaseOrderItemRepository itemRepository,
                                  PurchaseReceiptRepository receiptRepository,
                                  PurchaseInvoiceRepository invoiceRepository,
-                                 SupplierRepository supplierRepository,
-                                 UserRepository userRepository,
-                                 AuditService auditService) {
+                                 ReferenceDataCache referenceDataCache,
+                                 AuditService auditService,
+                                 PoNumberAllocator poNumberAllocator,
+                                 PoKpiTracker kpiTracker,
+                                 OptimisticRetryExecutor retryExecutor,
+                                 PurchaseOrderTotalsRepository totalsRepository,
+                                 PurchaseOrderSearchIndex searchIndex,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.po.list.max-page-size:100}") int maxPageSize) {
         this.poRepository = poRepository;
         this.itemRepository = itemRepository;
         this.receiptRepository = receiptRepository;
         this.invoiceRepository = invoiceRepository;
-        this.supplierRepository = supplierRepository;
-        this.userRepository = userRepository;
+        this.referenceDataCache = referenceDataCache;
         this.auditService = auditService;
+        this.poNumberAllocator = poNumberAllocator;
+        this.kpiTracker = kpiTracker;
+        this.retryExecutor = retryExecutor;
+        this.totalsRepository = totalsRepository;
+        this.searchIndex = searchIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxPageSize = maxPageSize;
     }
 
     // ── CREATE PO ──────────────────────────────────────────────────────────────
-    @Transactional
+    /**
+     * The PO number is taken before the transaction opens: reserving a new block needs a second
+     * connection, and creators waiting for that block must not each be holding one.
+     */
     public PurchaseOrder createPurchaseOrder(Long supplierId, LocalDate orderDate,
                                               LocalDate expectedDelivery, String remarks,
-                                              List<Map<String, Object>> itemsData, String username) {
+                                              List<Dtos.ItemRequest> itemsData, String username) {
         User user = loadUser(username);
-        Supplier supplier = supplierRepository.findById(supplierId)
+        Supplier supplier = referenceDataCache.findSupplier(supplierId)
                 .orElseThrow(() -> new RuntimeException("Supplier not found: " + supplierId));
 
-        String poNumber = generatePoNumber();
+        String poNumber = poNumberAllocator.nextPoNumber();
+        return transactionTemplate.execute(status ->
+                doCreatePurchaseOrder(poNumber, user, supplier, orderDate, expectedDelivery, remarks, itemsData, username));
+    }
 
+    private PurchaseOrder doCreatePurchaseOrder(String poNumber, User user, Supplier supplier, LocalDate orderDate,
+                                                LocalDate expectedDelivery, String remarks,
+                                                List<Dtos.ItemRequest> itemsData, String username) {
         PurchaseOrder po = PurchaseOrder.builder()
                 .poNumber(poNumber)
                 .supplier(supplier)
@@ -73,34 +108,35 @@ public class PurchaseOrderService {
                 .build();
 
         List<PurchaseOrderItem> items = new ArrayList<>();
-        BigDecimal grandTotal = BigDecimal.ZERO;
+        Money.Total total = new Money.Total();
 
-        for (Map<String, Object> data : itemsData) {
-            BigDecimal qty = new BigDecimal(data.get("orderedQty").toString());
-            BigDecimal price = new BigDecimal(data.get("unitPrice").toString());
-            BigDecimal lineTotal = qty.multiply(price);
+        for (Dtos.ItemRequest data : itemsData != null ? itemsData : List.<Dtos.ItemRequest>of()) {
+            BigDecimal lineTotal = Money.fromMinor(total.addLine(data.orderedQty(), data.unitPrice()));
 
             PurchaseOrderItem item = PurchaseOrderItem.builder()
                     .purchaseOrder(po)
-                    .itemDescription(data.get("itemDescription").toString())
-                    .itemCode(data.getOrDefault("itemCode", "").toString())
-                    .unit(data.getOrDefault("unit", "PCS").toString())
-                    .orderedQty(qty)
-                    .unitPrice(price)
+                    .itemDescription(data.itemDescription())
+                    .itemCode(data.itemCode() != null ? data.itemCode() : "")
+                    .unit(data.unit() != null ? data.unit() : "PCS")
+                    .orderedQty(data.orderedQty())
+                    .unitPrice(data.unitPrice())
                     .lineTotal(lineTotal)
                     .receivedQty(BigDecimal.ZERO)
                     .build();
             items.add(item);
-            grandTotal = grandTotal.add(lineTotal);
         }
 
         if (items.isEmpty()) throw new RuntimeException("Purchase order must have at least one item");
-        if (grandTotal.compareTo(BigDecimal.ZERO) <= 0) throw new RuntimeException("Grand total must be greater than zero");
+        if (total.minor() <= 0) throw new RuntimeException("Grand total must be greater than zero");
+        BigDecimal grandTotal = Money.fromMinor(total.minor());
 
         po.setGrandTotal(grandTotal);
         po.setItems(items);
 
-        PurchaseOrder saved = poRepository.save(po);
+        // Flushed so the search index (same transaction) sees the order and its items
+        PurchaseOrder saved = poRepository.saveAndFlush(po);
+        searchIndex.index(List.of(saved.getId()));
+        kpiTracker.recordChange(null, null, saved.getStatus(), saved.getTotalBilled(), saved.getGrandTotal());
 
         auditService.log(AuditAction.PO_CREATED, "PurchaseOrder", saved.getId(),
                 username, null, "DRAFT",
@@ -111,13 +147,23 @@ public class PurchaseOrderService {
     }
 
     // ── SUBMIT FOR APPROVAL ────────────────────────────────────────────────────
-    @Transactional
+    /**
+     * Submit, approve, reject and cancel read the PO, check the transition and save it, so two
+     * of them racing on one PO conflict on {@code @Version}. The retry wrapper supplies the
+     * transaction and runs the loser again, which then re-checks the transition against the
+     * winner's status instead of failing with 409.
+     */
     public PurchaseOrder submitForApproval(Long poId, String username) {
+        return retryExecutor.execute("submit", () -> doSubmitForApproval(poId, username));
+    }
+
+    private PurchaseOrder doSubmitForApproval(Long poId, String username) {
         PurchaseOrder po = loadPO(poId);
-        validateTransition(po, PurchaseOrderStatus.DRAFT, PurchaseOrderStatus.SUBMITTED);
+        PurchaseOrderStateMachine.require(po.getStatus(), PurchaseOrderAction.SUBMIT);
 
-        po.setStatus(PurchaseOrderStatus.SUBMITTED);
+        po.setStatus(PurchaseOrderStateMachine.target(PurchaseOrderAction.SUBMIT));
         PurchaseOrder saved = poRepository.save(po);
+        recordStatusChange(PurchaseOrderStatus.DRAFT, po.getTotalBilled(), saved);
 
         auditService.log(AuditAction.PO_SUBMITTED, "PurchaseOrder", poId, username,
                 "DRAFT", "SUBMITTED", "PO submitted for approval");
@@ -125,20 +171,25 @@ public class PurchaseOrderService {
     }
 
     // ── APPROVE PO ────────────────────────────────────────────────────────────
-    @Transactional
+    /** Retried on a version conflict, see {@link #submitForApproval}. */
     public PurchaseOrder approvePurchaseOrder(Long poId, String username) {
+        return retryExecutor.execute("approve", () -> doApprovePurchaseOrder(poId, username));
+    }
+
+    private PurchaseOrder doApprovePurchaseOrder(Long poId, String username) {
         User approver = loadUser(username);
         if (approver.getRole() != Role.ROLE_PURCHASING_MANAGER && approver.getRole() != Role.ROLE_ADMIN) {
             throw new AccessDeniedException("Only Purchasing Managers can approve Purchase Orders");
         }
 
         PurchaseOrder po = loadPO(poId);
-        validateTransition(po, PurchaseOrderStatus.SUBMITTED, PurchaseOrderStatus.APPROVED);
+        PurchaseOrderStateMachine.require(po.getStatus(), PurchaseOrderAction.APPROVE);
 
-        po.setStatus(PurchaseOrderStatus.APPROVED);
+        po.setStatus(PurchaseOrderStateMachine.target(PurchaseOrderAction.APPROVE));
         po.setApprovedBy(approver);
         po.setApprovedAt(java.time.LocalDateTime.now());
         PurchaseOrder saved = poRepository.save(po);
+        recordStatusChange(PurchaseOrderStatus.SUBMITTED, po.getTotalBilled(), saved);
 
         auditService.log(AuditAction.PO_APPROVED, "PurchaseOrder", poId, username,
                 "SUBMITTED", "APPROVED", "PO approved by " + approver.getFullName());
@@ -146,21 +197,24 @@ public class PurchaseOrderService {
     }
 
     // ── REJECT PO ─────────────────────────────────────────────────────────────
-    @Transactional
+    /** Retried on a version conflict, see {@link #submitForApproval}. */
     public PurchaseOrder rejectPurchaseOrder(Long poId, String reason, String username) {
+        return retryExecutor.execute("reject", () -> doRejectPurchaseOrder(poId, reason, username));
+    }
+
+    private PurchaseOrder doRejectPurchaseOrder(Long poId, String reason, String username) {
         User approver = loadUser(username);
         if (approver.getRole() != Role.ROLE_PURCHASING_MANAGER && approver.getRole() != Role.ROLE_ADMIN) {
             throw new AccessDeniedException("Only Purchasing Managers can reject Purchase Orders");
         }
 
         PurchaseOrder po = loadPO(poId);
-        if (po.getStatus() != PurchaseOrderStatus.SUBMITTED) {
-            throw new RuntimeException("Only SUBMITTED POs can be rejected");
-        }
+        PurchaseOrderStateMachine.require(po.getStatus(), PurchaseOrderAction.REJECT);
 
-        po.setStatus(PurchaseOrderStatus.DRAFT);
+        po.setStatus(PurchaseOrderStateMachine.target(PurchaseOrderAction.REJECT));
         po.setRemarks((po.getRemarks() != null ? po.getRemarks() + " | " : "") + "REJECTED: " + reason);
         PurchaseOrder saved = poRepository.save(po);
+        recordStatusChange(PurchaseOrderStatus.SUBMITTED, po.getTotalBilled(), saved);
 
         auditService.log(AuditAction.PO_REJECTED, "PurchaseOrder", poId, username,
                 "SUBMITTED", "DRAFT", "Rejected: " + reason);
@@ -168,74 +222,64 @@ public class PurchaseOrderService {
     }
 
     // ── RECEIVE GOODS ──────────────────────────────────────────────────────────
+    /**
+     * Totals and status move in one guarded UPDATE (see {@link PurchaseOrderTotalsRepository}), so
+     * concurrent receipts on the same PO serialise on the row lock. The PO entity is never saved
+     * here, so there is no version conflict to retry.
+     */
     @Transactional
     public PurchaseReceipt receiveGoods(Long poId, LocalDate receiptDate,
                                          BigDecimal receivedAmount, String notes, String username) {
-        PurchaseOrder po = loadPO(poId);
-        if (po.getStatus() != PurchaseOrderStatus.APPROVED && po.getStatus() != PurchaseOrderStatus.TO_RECEIVE) {
-            throw new RuntimeException("Goods can only be received for APPROVED or TO_RECEIVE orders. Current: " + po.getStatus());
-        }
-        if (receivedAmount.compareTo(BigDecimal.ZERO) <= 0) {
+        if (receivedAmount == null || receivedAmount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new RuntimeException("Received amount must be greater than zero");
         }
-        BigDecimal newTotalReceived = po.getTotalReceived().add(receivedAmount);
-        if (newTotalReceived.compareTo(po.getGrandTotal()) > 0) {
-            throw new RuntimeException("Total received (" + newTotalReceived + ") cannot exceed PO total (" + po.getGrandTotal() + ")");
-        }
+        PurchaseOrderTotalsRepository.TotalsUpdate update = totalsRepository.addReceived(poId, receivedAmount)
+                .orElseThrow(() -> receiveRejected(poId, receivedAmount));
 
         User receiver = loadUser(username);
-        String receiptNumber = "REC-" + po.getPoNumber() + "-" + System.currentTimeMillis() % 10000;
-
         PurchaseReceipt receipt = PurchaseReceipt.builder()
-                .purchaseOrder(po)
+                .purchaseOrder(poRepository.getReferenceById(poId))
                 .receivedBy(receiver)
-                .receiptNumber(receiptNumber)
+                .receiptNumber(receiptNumber(update.poNumber(), update.receiptCount()))
                 .receiptDate(receiptDate != null ? receiptDate : LocalDate.now())
                 .receivedAmount(receivedAmount)
                 .notes(notes)
                 .build();
-
+        receipt.setPurchaseOrderStatus(update.status());
         receiptRepository.save(receipt);
-
-        po.setTotalReceived(newTotalReceived);
-        if (po.isFullyReceived() && po.isFullyBilled()) {
-            po.setStatus(PurchaseOrderStatus.COMPLETED);
-        } else if (po.isFullyReceived()) {
-            po.setStatus(PurchaseOrderStatus.TO_BILL);
-        } else {
-            po.setStatus(PurchaseOrderStatus.TO_RECEIVE);
-        }
-        poRepository.save(po);
+        recordTotalsChange(update);
 
         auditService.log(AuditAction.PO_RECEIVED, "PurchaseOrder", poId, username,
-                null, po.getStatus().name(), "Received: " + receivedAmount + " | Total: " + newTotalReceived);
+                null, update.status().name(), "Received: " + receivedAmount + " | Total: " + update.totalReceived());
         return receipt;
     }
 
+    // The guarded update matched no row: re-read the PO to report which rule was broken
+    private RuntimeException receiveRejected(Long poId, BigDecimal receivedAmount) {
+        PurchaseOrder po = loadPO(poId);
+        String reason = PurchaseOrderStateMachine.rejection(po.getStatus(), PurchaseOrderAction.RECEIVE);
+        if (reason != null) return new RuntimeException(reason);
+        BigDecimal newTotalReceived = po.getTotalReceived().add(receivedAmount);
+        return new RuntimeException("Total received (" + newTotalReceived + ") cannot exceed PO total (" + po.getGrandTotal() + ")");
+    }
+
     // ── POST INVOICE ───────────────────────────────────────────────────────────
+    /** Same single-statement path as {@link #receiveGoods}, for {@code totalBilled}. */
     @Transactional
     public PurchaseInvoice postInvoice(Long poId, String invoiceNumber, LocalDate invoiceDate,
                                         LocalDate dueDate, BigDecimal invoiceAmount, String notes, String username) {
-        PurchaseOrder po = loadPO(poId);
-        if (po.getStatus() != PurchaseOrderStatus.TO_BILL
-                && po.getStatus() != PurchaseOrderStatus.TO_RECEIVE
-                && po.getStatus() != PurchaseOrderStatus.APPROVED) {
-            throw new RuntimeException("Invoice can only be posted for APPROVED, TO_RECEIVE, or TO_BILL orders");
+        if (invoiceAmount == null || invoiceAmount.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new RuntimeException("Invoice amount must be greater than zero");
         }
         if (invoiceRepository.existsByInvoiceNumber(invoiceNumber)) {
             throw new RuntimeException("Invoice number already exists: " + invoiceNumber);
         }
-        if (invoiceAmount.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new RuntimeException("Invoice amount must be greater than zero");
-        }
-        BigDecimal newTotalBilled = po.getTotalBilled().add(invoiceAmount);
-        if (newTotalBilled.compareTo(po.getGrandTotal()) > 0) {
-            throw new RuntimeException("Total billed (" + newTotalBilled + ") would exceed PO total (" + po.getGrandTotal() + ")");
-        }
+        PurchaseOrderTotalsRepository.TotalsUpdate update = totalsRepository.addBilled(poId, invoiceAmount)
+                .orElseThrow(() -> invoiceRejected(poId, invoiceAmount));
 
         User poster = loadUser(username);
         PurchaseInvoice invoice = PurchaseInvoice.builder()
-                .purchaseOrder(po)
+                .purchaseOrder(poRepository.getReferenceById(poId))
                 .postedBy(poster)
                 .invoiceNumber(invoiceNumber)
                 .invoiceDate(invoiceDate)
@@ -244,37 +288,39 @@ public class PurchaseOrderService {
                 .notes(notes)
                 .paymentStatus("UNPAID")
                 .build();
-
+        invoice.setPurchaseOrderStatus(update.status());
         invoiceRepository.save(invoice);
-
-        po.setTotalBilled(newTotalBilled);
-        if (po.isFullyReceived() && po.isFullyBilled()) {
-            po.setStatus(PurchaseOrderStatus.COMPLETED);
-        } else if (po.isFullyBilled()) {
-            po.setStatus(PurchaseOrderStatus.TO_RECEIVE);
-        }
-        poRepository.save(po);
+        recordTotalsChange(update);
 
         auditService.log(AuditAction.PO_BILLED, "PurchaseOrder", poId, username,
-                null, po.getStatus().name(), "Invoice: " + invoiceNumber + " | Amount: " + invoiceAmount);
+                null, update.status().name(), "Invoice: " + invoiceNumber + " | Amount: " + invoiceAmount);
         return invoice;
     }
 
+    private RuntimeException invoiceRejected(Long poId, BigDecimal invoiceAmount) {
+        PurchaseOrder po = loadPO(poId);
+        String reason = PurchaseOrderStateMachine.rejection(po.getStatus(), PurchaseOrderAction.INVOICE);
+        if (reason != null) return new RuntimeException(reason);
+        BigDecimal newTotalBilled = po.getTotalBilled().add(invoiceAmount);
+        return new RuntimeException("Total billed (" + newTotalBilled + ") would exceed PO total (" + po.getGrandTotal() + ")");
+    }
+
     // ── CANCEL PO ─────────────────────────────────────────────────────────────
-    @Transactional
+    /** Retried on a version conflict, see {@link #submitForApproval}. */
     public PurchaseOrder cancelPurchaseOrder(Long poId, String reason, String username) {
+        return retryExecutor.execute("cancel", () -> doCancelPurchaseOrder(poId, reason, username));
+    }
+
+    private PurchaseOrder doCancelPurchaseOrder(Long poId, String reason, String username) {
         PurchaseOrder po = loadPO(poId);
-        if (po.getStatus() == PurchaseOrderStatus.COMPLETED || po.getStatus() == PurchaseOrderStatus.CANCELLED) {
-            throw new RuntimeException("Cannot cancel a " + po.getStatus() + " purchase order");
-        }
-        if (po.getTotalReceived().compareTo(BigDecimal.ZERO) > 0) {
-            throw new RuntimeException("Cannot cancel a PO with goods already received");
-        }
+        PurchaseOrderStateMachine.requireCancellable(po.getStatus(), po.getTotalReceived());
 
         String previousStatus = po.getStatus().name();
-        po.setStatus(PurchaseOrderStatus.CANCELLED);
+        PurchaseOrderStatus fromStatus = po.getStatus();
+        po.setStatus(PurchaseOrderStateMachine.target(PurchaseOrderAction.CANCEL));
         po.setRemarks((po.getRemarks() != null ? po.getRemarks() + " | " : "") + "CANCELLED: " + reason);
         PurchaseOrder saved = poRepository.save(po);
+        recordStatusChange(fromStatus, po.getTotalBilled(), saved);
 
         auditService.log(AuditAction.PO_CANCELLED, "PurchaseOrder", poId, username,
                 previousStatus, "CANCELLED", "Cancelled: " + reason);
@@ -282,60 +328,116 @@ public class PurchaseOrderService {
     }
 
     // ── QUERIES ───────────────────────────────────────────────────────────────
+    /**
+     * List view read path: flat projections instead of managed entities. Items for the whole
+     * page are fetched in a single extra query, or skipped entirely when {@code includeItems} is false.
+     * Here and in {@link #scrollOrderSummaries} the page size is clamped to
+     * 1..{@code app.po.list.max-page-size}.
+     */
     @Transactional(readOnly = true)
-    public Page<PurchaseOrder> getAllOrders(int page, int size, String sort) {
-        Sort sorting = Sort.by(Sort.Direction.DESC, sort != null ? sort : "createdAt");
-        return poRepository.findAll(PageRequest.of(page, size, sorting));
+    public Page<PurchaseOrderSummary> getOrderSummaries(PurchaseOrderStatus status, int page, int size,
+                                                        String sort, boolean includeItems) {
+        size = clampPageSize(size);
+        Page<PurchaseOrderSummary> result = status != null
+                ? poRepository.findSummariesByStatus(status, PageRequest.of(page, size, Sort.by("createdAt").descending()))
+                : poRepository.findSummaries(PageRequest.of(page, size,
+                        Sort.by(Sort.Direction.DESC, sort != null ? sort : "createdAt")));
+        if (!includeItems || result.isEmpty()) return result;
+
+        Map<Long, List<PurchaseOrderItemSummary>> itemsByPo = loadItemSummaries(result.getContent());
+        return result.map(po -> po.withItems(itemsByPo.getOrDefault(po.id(), List.of())));
     }
 
+    /**
+     * Keyset-paginated variant of the list view, ordered by (createdAt, id) descending. Every
+     * slice costs the same regardless of depth; the total is only computed when asked for.
+     */
     @Transactional(readOnly = true)
-    public Page<PurchaseOrder> getOrdersByStatus(PurchaseOrderStatus status, int page, int size) {
-        return poRepository.findByStatus(status, PageRequest.of(page, size, Sort.by("createdAt").descending()));
+    public SeekPage<PurchaseOrderSummary> scrollOrderSummaries(PurchaseOrderStatus status, String cursor, int size,
+                                                               SeekPage.CountMode countMode, boolean includeItems) {
+        size = clampPageSize(size);
+        SeekCursor after = cursor != null && !cursor.isBlank() ? SeekCursor.decode(cursor) : null;
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<PurchaseOrderSummary> rows;
+        if (status == null) {
+            rows = after == null
+                    ? poRepository.findSummariesFirst(limit)
+                    : poRepository.findSummariesAfter(after.timestamp(), after.id(), limit);
+        } else {
+            rows = after == null
+                    ? poRepository.findSummariesByStatusFirst(status, limit)
+                    : poRepository.findSummariesByStatusAfter(status, after.timestamp(), after.id(), limit);
+        }
+
+        boolean hasMore = rows.size() > size;
+        if (hasMore) rows = rows.subList(0, size);
+        if (includeItems && !rows.isEmpty()) {
+            Map<Long, List<PurchaseOrderItemSummary>> itemsByPo = loadItemSummaries(rows);
+            rows = rows.stream()
+                    .map(po -> po.withItems(itemsByPo.getOrDefault(po.id(), List.of())))
+                    .collect(Collectors.toList());
+        }
+        PurchaseOrderSummary last = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+        String nextCursor = hasMore ? new SeekCursor(last.createdAt(), last.id()).encode() : null;
+
+        Long total = switch (countMode) {
+            case NONE -> null;
+            case EXACT -> status == null ? poRepository.count() : poRepository.countByStatus(status);
+            case ESTIMATED -> estimateOrderCount(status);
+        };
+        return new SeekPage<>(rows, nextCursor, hasMore, size, total,
+                countMode == SeekPage.CountMode.NONE ? null : countMode.name());
     }
 
     @Transactional(readOnly = true)
     public PurchaseOrder getOrderById(Long id) { return loadPO(id); }
 
-    @Transactional(readOnly = true)
-    public Map<String, Object> getKpiDashboard() {
-        Map<String, Object> kpi = new LinkedHashMap<>();
-        kpi.put("totalOrders", poRepository.count());
-        for (PurchaseOrderStatus status : PurchaseOrderStatus.values()) {
-            kpi.put(status.name().toLowerCase() + "Count", poRepository.countByStatus(status));
-        }
-        kpi.put("pendingValue",
-                poRepository.sumGrandTotalByStatus(PurchaseOrderStatus.TO_RECEIVE)
-                        .add(poRepository.sumGrandTotalByStatus(PurchaseOrderStatus.TO_BILL)));
-        kpi.put("completedValue",  poRepository.sumGrandTotalByStatus(PurchaseOrderStatus.COMPLETED));
-        kpi.put("totalBilledValue", poRepository.sumTotalBilled());
-        return kpi;
+    /** Served from the incrementally maintained counters; {@code fresh} runs the grouped aggregate instead. */
+    public Map<String, Object> getKpiDashboard(boolean fresh) {
+        return fresh ? kpiTracker.computeFromDatabase() : kpiTracker.snapshot();
     }
 
     // ── HELPERS ───────────────────────────────────────────────────────────────
+    private Map<Long, List<PurchaseOrderItemSummary>> loadItemSummaries(List<PurchaseOrderSummary> orders) {
+        List<Long> ids = orders.stream().map(PurchaseOrderSummary::id).collect(Collectors.toList());
+        return itemRepository.findSummariesByPurchaseOrderIds(ids)
+                .stream().collect(Collectors.groupingBy(PurchaseOrderItemSummary::purchaseOrderId));
+    }
+
+    // Table statistics are only kept for the whole table; a status filter falls back to an exact count
+    private long estimateOrderCount(PurchaseOrderStatus status) {
+        if (status != null) return poRepository.countByStatus(status);
+        Long estimate = poRepository.estimateRowCount();
+        return estimate != null && estimate >= 0 ? estimate : poRepository.count();
+    }
+
+    private int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, maxPageSize));
+    }
+
     private PurchaseOrder loadPO(Long id) {
         return poRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Purchase Order not found: " + id));
     }
 
     private User loadUser(String username) {
-        return userRepository.findByUsername(username)
+        return referenceDataCache.findUser(username)
                 .orElseThrow(() -> new RuntimeException("User not found: " + username));
     }
 
-    private void validateTransition(PurchaseOrder po, PurchaseOrderStatus expected, PurchaseOrderStatus target) {
-        if (po.getStatus() != expected) {
-            throw new RuntimeException("Cannot transition to " + target
-                    + ". Current: " + po.getStatus() + ", expected: " + expected);
-        }
+    // REC-<poNumber>-<5-digit per-PO sequence>. The counter lives on the PO row, so two receipts
+    // for the same PO can never commit the same number. Five digits keeps these distinct from
+    // legacy numbers built from millis % 10000, which had at most four.
+    private static String receiptNumber(String poNumber, int sequence) {
+        return "REC-" + poNumber + "-" + String.format("%05d", sequence);
     }
 
-    private String generatePoNumber() {
-        String year = DateTimeFormatter.ofPattern("yyyy").format(LocalDate.now());
-        long seq = poSequence.incrementAndGet();
-        String candidate = "PO-" + year + "-" + String.format("%04d", seq);
-        while (poRepository.existsByPoNumber(candidate)) {
-            candidate = "PO-" + year + "-" + String.format("%04d", poSequence.incrementAndGet());
-        }
-        return candidate;
+    private void recordStatusChange(PurchaseOrderStatus from, BigDecimal fromBilled, PurchaseOrder po) {
+        kpiTracker.recordChange(from, fromBilled, po.getStatus(), po.getTotalBilled(), po.getGrandTotal());
+    }
+
+    private void recordTotalsChange(PurchaseOrderTotalsRepository.TotalsUpdate update) {
+        kpiTracker.recordChange(update.previousStatus(), update.previousBilled(),
+                update.status(), update.totalBilled(), update.grandTotal());
     }
 }
@@ -0,0 +1,167 @@
+package com.erp.procurement.service;
+
+import com.erp.procurement.entity.Supplier;
+import com.erp.procurement.entity.User;
+import com.erp.procurement.repository.SupplierRepository;
+import com.erp.procurement.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-based cache for the user and supplier lookups that sit on every API call.
+ * Cached entities are detached: they are safe to read and to use as association targets,
+ * but must not be modified. Updates invalidate through the {@link CacheInvalidationBus}
+ * after commit (see {@link ReferenceDataCacheListener}). Misses are loaded outside the cache's
+ * compute lock so a virtual thread blocked on JDBC never pins its carrier. Two concurrent misses
+ * for the same key may both hit the database. A load that overlaps an invalidation may have read
+ * the old row, so its entry is dropped again rather than served until the TTL expires.
+ */
+@Service
+public class ReferenceDataCache {
+
+    static final String USERS = "users";
+    static final String SUPPLIERS = "suppliers";
+
+    private final UserRepository userRepository;
+    private final SupplierRepository supplierRepository;
+    private final CacheInvalidationBus invalidationBus;
+
+    private final Entries<String, User> usersByName;
+    private final Entries<Long, Supplier> suppliersById;
+    private final Entries<String, Supplier> suppliersByCode;
+
+    public ReferenceDataCache(UserRepository userRepository,
+                              SupplierRepository supplierRepository,
+                              CacheInvalidationBus invalidationBus,
+                              @Value("${app.cache.users.max-size:10000}") long userMaxSize,
+                              @Value("${app.cache.users.ttl-seconds:300}") long userTtlSeconds,
+                              @Value("${app.cache.suppliers.max-size:10000}") long supplierMaxSize,
+                              @Value("${app.cache.suppliers.ttl-seconds:600}") long supplierTtlSeconds) {
+        this.userRepository = userRepository;
+        this.supplierRepository = supplierRepository;
+        this.invalidationBus = invalidationBus;
+        this.usersByName = new Entries<>(Caffeine.newBuilder()
+                .maximumSize(userMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(userTtlSeconds))
+                .recordStats()
+                .build());
+        this.suppliersById = new Entries<>(Caffeine.newBuilder()
+                .maximumSize(supplierMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(supplierTtlSeconds))
+                .recordStats()
+                .build());
+        this.suppliersByCode = new Entries<>(Caffeine.newBuilder()
+                .maximumSize(supplierMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(supplierTtlSeconds))
+                .recordStats()
+                .build());
+        invalidationBus.subscribe(this::onInvalidation);
+    }
+
+    public Optional<User> findUser(String username) {
+        return usersByName.lookup(username, userRepository::findByUsername);
+    }
+
+    public Optional<Supplier> findSupplier(Long id) {
+        return suppliersById.lookup(id, supplierRepository::findById);
+    }
+
+    public Optional<Supplier> findSupplierByCode(String code) {
+        return suppliersByCode.lookup(code, supplierRepository::findBySupplierCode);
+    }
+
+    public void evictUser(String username) {
+        afterCommit(() -> invalidationBus.publish(USERS, username));
+    }
+
+    public void evictSupplier(Supplier supplier) {
+        afterCommit(() -> {
+            invalidationBus.publish(SUPPLIERS, supplier.getId());
+            invalidationBus.publish(SUPPLIERS, supplier.getSupplierCode());
+        });
+    }
+
+    private void onInvalidation(String cacheName, Object key) {
+        if (USERS.equals(cacheName)) {
+            if (key instanceof String username) usersByName.invalidate(username);
+        } else if (SUPPLIERS.equals(cacheName)) {
+            if (key instanceof Long id) suppliersById.invalidate(id);
+            else if (key instanceof String code) suppliersByCode.invalidate(code);
+        }
+    }
+
+    // Evicting before commit would let a concurrent reader re-cache the old row
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() { action.run(); }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    public Map<String, Object> metrics() {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("usersByName", stats(usersByName.cache));
+        m.put("suppliersById", stats(suppliersById.cache));
+        m.put("suppliersByCode", stats(suppliersByCode.cache));
+        return m;
+    }
+
+    private static Map<String, Object> stats(Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("size", cache.estimatedSize());
+        m.put("hits", stats.hitCount());
+        m.put("misses", stats.missCount());
+        m.put("hitRate", stats.hitRate());
+        m.put("evictions", stats.evictionCount());
+        return m;
+    }
+
+    /**
+     * A cache and a count of its invalidations. The count is bumped before an entry is removed,
+     * and a loader re-checks it after its put: either the loader sees the bump and removes its own
+     * entry, or the invalidation runs after the put and removes it.
+     */
+    private static final class Entries<K, V> {
+
+        final Cache<K, V> cache;
+        private final AtomicLong invalidations = new AtomicLong();
+
+        Entries(Cache<K, V> cache) {
+            this.cache = cache;
+        }
+
+        Optional<V> lookup(K key, Function<K, Optional<V>> loader) {
+            V cached = cache.getIfPresent(key);
+            if (cached != null) return Optional.of(cached);
+            long seen = invalidations.get();
+            Optional<V> loaded = loader.apply(key);
+            if (loaded.isPresent()) {
+                cache.put(key, loaded.get());
+                if (invalidations.get() != seen) cache.invalidate(key);
+            }
+            return loaded;
+        }
+
+        void invalidate(K key) {
+            invalidations.incrementAndGet();
+            cache.invalidate(key);
+        }
+    }
+}
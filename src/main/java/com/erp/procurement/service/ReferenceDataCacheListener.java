@@ -0,0 +1,33 @@
+package com.erp.procurement.service;
+
+import com.erp.procurement.entity.Supplier;
+import com.erp.procurement.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA listener on {@link User} and {@link Supplier} that evicts cached copies whenever a row is
+ * updated or deleted, whichever code path made the change. Hibernate resolves it from the
+ * Spring context; the cache is injected lazily because it depends on the repositories.
+ */
+@Component
+public class ReferenceDataCacheListener {
+
+    private final ReferenceDataCache cache;
+
+    public ReferenceDataCacheListener(@Lazy ReferenceDataCache cache) {
+        this.cache = cache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (entity instanceof User user) {
+            cache.evictUser(user.getUsername());
+        } else if (entity instanceof Supplier supplier) {
+            cache.evictSupplier(supplier);
+        }
+    }
+}
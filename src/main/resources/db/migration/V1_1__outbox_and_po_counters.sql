@@ -0,0 +1,24 @@
+-- Objects the application gained while the schema was still generated by ddl-auto=update: the
+-- audit outbox, the PO number block allocator and the per-PO receipt counter. A database that
+-- ran one of those builds may already have some of them, so every statement is guarded.
+
+CREATE TABLE IF NOT EXISTS audit_outbox (
+    id               BIGSERIAL     PRIMARY KEY,
+    action           VARCHAR(40)   NOT NULL,
+    entity_type      VARCHAR(50)   NOT NULL,
+    entity_id        BIGINT,
+    performed_by     VARCHAR(100),
+    performed_at     TIMESTAMP(6)  NOT NULL,
+    previous_status  VARCHAR(30),
+    new_status       VARCHAR(30),
+    description      VARCHAR(1000),
+    ip_address       VARCHAR(45)
+);
+
+CREATE TABLE IF NOT EXISTS po_number_sequences (
+    sequence_year  INTEGER PRIMARY KEY,
+    next_value     BIGINT NOT NULL
+);
+
+-- Numbers receipts per PO (REC-<po>-00001, ...)
+ALTER TABLE purchase_orders ADD COLUMN IF NOT EXISTS receipt_count INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,104 @@
+-- Baseline: the schema exactly as ddl-auto=update generated it before Flyway was introduced
+-- (Hibernate 6 on PostgreSQL: bigserial keys, CHECK constraints on enum columns).
+-- Existing databases are baselined at version 1 (spring.flyway.baseline-on-migrate) and skip this
+-- script, so anything added since then belongs in a later migration, never here.
+
+CREATE TABLE users (
+    id          BIGSERIAL    PRIMARY KEY,
+    username    VARCHAR(50)  NOT NULL UNIQUE,
+    password    VARCHAR(255) NOT NULL,
+    full_name   VARCHAR(100) NOT NULL,
+    email       VARCHAR(255) NOT NULL UNIQUE,
+    role        VARCHAR(255) NOT NULL CHECK (role IN ('ROLE_PROCUREMENT_COORDINATOR', 'ROLE_PURCHASING_MANAGER',
+                                                      'ROLE_FINANCE', 'ROLE_ADMIN')),
+    enabled     BOOLEAN      NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE suppliers (
+    id              BIGSERIAL    PRIMARY KEY,
+    supplier_code   VARCHAR(20)  NOT NULL UNIQUE,
+    supplier_name   VARCHAR(150) NOT NULL,
+    contact_person  VARCHAR(100),
+    email           VARCHAR(100),
+    phone           VARCHAR(30),
+    address         VARCHAR(255),
+    payment_terms   VARCHAR(50),
+    active          BOOLEAN      NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE purchase_orders (
+    id                      BIGSERIAL      PRIMARY KEY,
+    po_number               VARCHAR(30)    NOT NULL UNIQUE,
+    supplier_id             BIGINT         NOT NULL CONSTRAINT fkrpdasmb8y8xs5tiy4369xpinq REFERENCES suppliers (id),
+    created_by_id           BIGINT         NOT NULL CONSTRAINT fk9ldaqvejb4c52fk8f8qqceg0 REFERENCES users (id),
+    approved_by_id          BIGINT         CONSTRAINT fkq75jr9hdiugj9b2r3q2xeovf4 REFERENCES users (id),
+    status                  VARCHAR(30)    NOT NULL CHECK (status IN ('DRAFT', 'SUBMITTED', 'APPROVED', 'TO_RECEIVE',
+                                                                      'TO_BILL', 'COMPLETED', 'CANCELLED')),
+    order_date              DATE           NOT NULL,
+    expected_delivery_date  DATE,
+    grand_total             NUMERIC(15, 2) NOT NULL,
+    total_received          NUMERIC(15, 2) NOT NULL,
+    total_billed            NUMERIC(15, 2) NOT NULL,
+    remarks                 VARCHAR(500),
+    created_at              TIMESTAMP(6)   NOT NULL,
+    updated_at              TIMESTAMP(6),
+    approved_at             TIMESTAMP(6),
+    version                 BIGINT
+);
+
+CREATE TABLE purchase_order_items (
+    id                 BIGSERIAL      PRIMARY KEY,
+    purchase_order_id  BIGINT         NOT NULL CONSTRAINT fko3yj8ocbw2kav38548t22hgh8 REFERENCES purchase_orders (id),
+    item_description   VARCHAR(255)   NOT NULL,
+    item_code          VARCHAR(50),
+    unit               VARCHAR(30),
+    ordered_qty        NUMERIC(10, 3) NOT NULL,
+    received_qty       NUMERIC(10, 3) NOT NULL,
+    unit_price         NUMERIC(15, 4) NOT NULL,
+    line_total         NUMERIC(15, 2) NOT NULL
+);
+
+CREATE TABLE purchase_receipts (
+    id                 BIGSERIAL      PRIMARY KEY,
+    purchase_order_id  BIGINT         NOT NULL CONSTRAINT fkpwiyv74cdhuhunxpxjlsisxmp REFERENCES purchase_orders (id),
+    received_by_id     BIGINT         NOT NULL CONSTRAINT fk1hg0mq56p1lefx2mrkvmj3ha9 REFERENCES users (id),
+    receipt_number     VARCHAR(30)    NOT NULL UNIQUE,
+    receipt_date       DATE           NOT NULL,
+    received_amount    NUMERIC(15, 2) NOT NULL,
+    notes              VARCHAR(500),
+    created_at         TIMESTAMP(6)   NOT NULL
+);
+
+CREATE TABLE purchase_invoices (
+    id                 BIGSERIAL      PRIMARY KEY,
+    purchase_order_id  BIGINT         NOT NULL CONSTRAINT fk4rsbcp6ows95jtaabdspmml4q REFERENCES purchase_orders (id),
+    posted_by_id       BIGINT         NOT NULL CONSTRAINT fk6ao2w345mi4jjoawjdtc89pbv REFERENCES users (id),
+    invoice_number     VARCHAR(50)    NOT NULL UNIQUE,
+    invoice_date       DATE           NOT NULL,
+    due_date           DATE,
+    invoice_amount     NUMERIC(15, 2) NOT NULL,
+    payment_status     VARCHAR(30),
+    notes              VARCHAR(500),
+    created_at         TIMESTAMP(6)   NOT NULL
+);
+
+CREATE TABLE audit_logs (
+    id               BIGSERIAL     PRIMARY KEY,
+    action           VARCHAR(40)   NOT NULL CHECK (action IN ('PO_CREATED', 'PO_UPDATED', 'PO_SUBMITTED', 'PO_APPROVED',
+                                                              'PO_REJECTED', 'PO_CANCELLED', 'PO_COMPLETED', 'PO_RECEIVED',
+                                                              'PO_BILLED', 'USER_LOGIN', 'USER_LOGOUT', 'USER_CREATED')),
+    entity_type      VARCHAR(50)   NOT NULL,
+    entity_id        BIGINT,
+    performed_by     VARCHAR(100),
+    performed_at     TIMESTAMP(6)  NOT NULL,
+    previous_status  VARCHAR(30),
+    new_status       VARCHAR(30),
+    description      VARCHAR(1000),
+    ip_address       VARCHAR(45)
+);
+
+CREATE INDEX idx_audit_entity ON audit_logs (entity_type, entity_id);
+CREATE INDEX idx_audit_user   ON audit_logs (performed_by);
+CREATE INDEX idx_audit_time   ON audit_logs (performed_at);
@@ -0,0 +1,33 @@
+-- Composite indexes for the hot read paths. Built CONCURRENTLY so existing
+-- deployments keep taking writes; see V2__hot_path_indexes.sql.conf.
+
+-- PO list / scroll: WHERE status = ? ORDER BY created_at DESC, id DESC (keyset seek)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_po_status_created
+    ON purchase_orders (status, created_at DESC, id DESC);
+
+-- Unfiltered PO list / scroll: ORDER BY created_at DESC, id DESC
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_po_created
+    ON purchase_orders (created_at DESC, id DESC);
+
+-- findActivePendingOrders: only open orders, read in expected-delivery order
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_po_active_delivery
+    ON purchase_orders (expected_delivery_date)
+    WHERE status IN ('TO_RECEIVE', 'TO_BILL', 'APPROVED');
+
+-- Supplier FK and the export's supplier / order-date filter
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_po_supplier_order_date
+    ON purchase_orders (supplier_id, order_date);
+
+-- findByPurchaseOrder_Id and the batched item fetch (purchase_order_id IN (...))
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_po_items_po
+    ON purchase_order_items (purchase_order_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_receipts_po
+    ON purchase_receipts (purchase_order_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_invoices_po
+    ON purchase_invoices (purchase_order_id);
+
+-- User activity keyset: WHERE performed_by = ? ORDER BY performed_at DESC, id DESC.
+-- Supersedes the single-column idx_audit_user.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_audit_user_time
+    ON audit_logs (performed_by, performed_at DESC, id DESC);
+DROP INDEX CONCURRENTLY IF EXISTS idx_audit_user;
@@ -0,0 +1,35 @@
+-- Search index for GET /api/purchase-orders/search (PostgresPurchaseOrderSearchIndex).
+-- Requires the pg_trgm extension (bundled with PostgreSQL contrib; CREATE needs a privileged role).
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Normalised words of one order: PO number, supplier code and name, item codes and descriptions.
+-- Lower-cased, punctuation to spaces, so 'PO-2025-1001' indexes as 'po 2025 1001'.
+CREATE FUNCTION purchase_order_search_text(po_id BIGINT) RETURNS TEXT
+LANGUAGE sql STABLE AS $$
+    SELECT lower(regexp_replace(concat_ws(' ', p.po_number, s.supplier_code, s.supplier_name,
+               (SELECT string_agg(concat_ws(' ', i.item_code, i.item_description), ' ')
+                  FROM purchase_order_items i
+                 WHERE i.purchase_order_id = p.id)),
+           '[^[:alnum:]]+', ' ', 'g'))
+      FROM purchase_orders p
+      JOIN suppliers s ON s.id = p.supplier_id
+     WHERE p.id = po_id
+$$;
+
+CREATE TABLE purchase_order_search (
+    purchase_order_id  BIGINT PRIMARY KEY REFERENCES purchase_orders (id) ON DELETE CASCADE,
+    supplier_id        BIGINT      NOT NULL,
+    po_number          VARCHAR(30) NOT NULL,
+    search_text        TEXT        NOT NULL,
+    document           TSVECTOR GENERATED ALWAYS AS (to_tsvector('simple', search_text)) STORED
+);
+
+INSERT INTO purchase_order_search (purchase_order_id, supplier_id, po_number, search_text)
+SELECT p.id, p.supplier_id, p.po_number, purchase_order_search_text(p.id)
+  FROM purchase_orders p;
+
+-- Built after the backfill: prefix terms (word:*) use the full-text index, fuzzy terms (<%) the trigram index
+CREATE INDEX idx_po_search_document ON purchase_order_search USING GIN (document);
+CREATE INDEX idx_po_search_trgm     ON purchase_order_search USING GIN (search_text gin_trgm_ops);
+CREATE INDEX idx_po_search_supplier ON purchase_order_search (supplier_id);
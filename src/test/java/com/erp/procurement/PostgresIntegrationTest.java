@@ -0,0 +1,101 @@
+package com.erp.procurement;
+
+import com.erp.procurement.dto.Dtos;
+import com.erp.procurement.entity.PurchaseOrder;
+import com.erp.procurement.enums.Role;
+import com.erp.procurement.service.PurchaseOrderService;
+import org.junit.jupiter.api.BeforeAll;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Base for tests that need PostgreSQL itself: row locks, Flyway migrations, planner choices. Runs
+ * against {@code TEST_POSTGRES_URL} (or the {@code test.postgres.url} system property) when set,
+ * credentials included as URL parameters, and otherwise against a PostgreSQL 16 container when
+ * Docker is available; without either the tests are skipped. Fixtures get unique names and tests
+ * assert only on their own rows, so the database may already hold data.
+ */
+@SpringBootTest
+public abstract class PostgresIntegrationTest {
+
+    private static final Database DATABASE = Database.resolve();
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    protected PurchaseOrderService poService;
+
+    @BeforeAll
+    static void requireDatabase() {
+        assumeTrue(DATABASE != null, "Set TEST_POSTGRES_URL or start Docker to run PostgreSQL tests");
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        if (DATABASE == null) return;
+        registry.add("spring.datasource.url", DATABASE::url);
+        if (DATABASE.username() != null) {
+            registry.add("spring.datasource.username", DATABASE::username);
+            registry.add("spring.datasource.password", DATABASE::password);
+        }
+        registry.add("app.jwt.secret", () -> "integration-test-secret-".repeat(4));
+        registry.add("app.audit.spool.dir",
+                () -> Path.of(System.getProperty("java.io.tmpdir"), "erp-audit-spool-test").toString());
+    }
+
+    protected String createUser(Role role) {
+        String username = "it-" + UUID.randomUUID().toString().substring(0, 12);
+        jdbcTemplate.update("INSERT INTO users (username, password, full_name, email, role, enabled, created_at) "
+                        + "VALUES (?, 'n/a', ?, ?, ?, true, now())",
+                username, "Test " + username, username + "@example.test", role.name());
+        return username;
+    }
+
+    protected long createSupplier() {
+        String code = "IT" + UUID.randomUUID().toString().substring(0, 12).toUpperCase();
+        return jdbcTemplate.queryForObject("INSERT INTO suppliers (supplier_code, supplier_name, active, created_at) "
+                + "VALUES (?, ?, true, now()) RETURNING id", Long.class, code, "Supplier " + code);
+    }
+
+    /** A draft PO with one line of {@code grandTotal}, created through the service. */
+    protected PurchaseOrder createOrder(long supplierId, String coordinator, BigDecimal grandTotal) {
+        return poService.createPurchaseOrder(supplierId, LocalDate.now(), LocalDate.now().plusDays(14),
+                "integration test", List.of(new Dtos.ItemRequest("Test item", "IT-1", "PCS", BigDecimal.ONE, grandTotal)),
+                coordinator);
+    }
+
+    /** As {@link #createOrder}, then submitted and approved. */
+    protected PurchaseOrder createApprovedOrder(long supplierId, String coordinator, String manager,
+                                                BigDecimal grandTotal) {
+        PurchaseOrder po = createOrder(supplierId, coordinator, grandTotal);
+        poService.submitForApproval(po.getId(), coordinator);
+        return poService.approvePurchaseOrder(po.getId(), manager);
+    }
+
+    private record Database(String url, String username, String password) {
+
+        static Database resolve() {
+            String url = System.getProperty("test.postgres.url", System.getenv("TEST_POSTGRES_URL"));
+            if (url != null && !url.isBlank()) return new Database(url, null, null);
+            if (!DockerClientFactory.instance().isDockerAvailable()) return null;
+            // Stopped by the Testcontainers reaper when the JVM exits
+            PostgreSQLContainer<?> container = new PostgreSQLContainer<>("postgres:16-alpine");
+            container.start();
+            return new Database(container.getJdbcUrl(), container.getUsername(), container.getPassword());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.erp.procurement.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares every {@link Money} operation with the {@code BigDecimal} arithmetic it replaced, on
+ * seeded random inputs covering the column ranges, the scales around them and the overflow
+ * fallbacks.
+ */
+class MoneyTest {
+
+    private static final int RUNS = 200_000;
+
+    private final Random random = new Random(20_26_10_17L);
+
+    @Test
+    void toMinorMatchesBigDecimal() {
+        for (int i = 0; i < RUNS; i++) {
+            BigDecimal amount = randomDecimal(random.nextInt(-2, 7), random.nextInt(1, 20));
+            assertSameMinor(() -> Money.toMinor(amount), amount);
+        }
+        assertThat(Money.toMinor(null)).isZero();
+        assertThat(Money.toMinor(new BigDecimal("9999999999999.99"))).isEqualTo(999_999_999_999_999L);
+        assertThat(Money.toMinor(new BigDecimal("-0.005"))).isEqualTo(-1);
+        assertThat(Money.toMinor(new BigDecimal("0.004999"))).isZero();
+    }
+
+    @Test
+    void lineTotalMatchesBigDecimal() {
+        for (int i = 0; i < RUNS; i++) {
+            BigDecimal qty = randomDecimal(random.nextInt(0, 5), random.nextInt(1, 16));
+            BigDecimal price = randomDecimal(random.nextInt(0, 6), random.nextInt(1, 16));
+            assertSameMinor(() -> Money.lineTotal(qty, price), qty.multiply(price));
+        }
+    }
+
+    @Test
+    void totalMatchesBigDecimal() {
+        for (int i = 0; i < RUNS / 100; i++) {
+            Money.Total total = new Money.Total();
+            BigDecimal exact = BigDecimal.ZERO;
+            for (int line = random.nextInt(1, 60); line > 0; line--) {
+                BigDecimal qty = randomDecimal(random.nextInt(0, 4), random.nextInt(1, 8));
+                BigDecimal price = randomDecimal(random.nextInt(0, 5), random.nextInt(1, 9));
+                BigDecimal product = qty.multiply(price);
+                assertThat(total.addLine(qty, price)).isEqualTo(expectedMinor(product));
+                exact = exact.add(product);
+            }
+            assertThat(total.minor()).isEqualTo(expectedMinor(exact));
+        }
+    }
+
+    @Test
+    void percentMatchesBigDecimal() {
+        for (int i = 0; i < RUNS; i++) {
+            long whole = random.nextLong(-1_000_000_000_000L, 1_000_000_000_000L);
+            long part = random.nextBoolean() ? random.nextLong(0, Math.abs(whole) + 1) : random.nextLong(-1_000_000L, 1_000_000L);
+            int expected = whole == 0 ? 0 : BigDecimal.valueOf(part).multiply(BigDecimal.valueOf(100))
+                    .divide(BigDecimal.valueOf(whole), 0, RoundingMode.HALF_UP).intValueExact();
+            assertThat(Money.percent(part, whole)).as("%d / %d", part, whole).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void toMinorDoesNotAllocateForColumnValues() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean mx && mx.isThreadAllocatedMemoryEnabled());
+        com.sun.management.ThreadMXBean mx = (com.sun.management.ThreadMXBean) bean;
+
+        BigDecimal[] amounts = new BigDecimal[1024];
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = BigDecimal.valueOf(random.nextLong(-999_999_999_999_999L, 1_000_000_000_000_000L), 2);
+        }
+        long sum = 0;
+        for (int round = 0; round < 50; round++) {
+            for (BigDecimal amount : amounts) sum += Money.toMinor(amount);
+        }
+        long thread = Thread.currentThread().getId();
+        long before = mx.getThreadAllocatedBytes(thread);
+        for (int round = 0; round < 100; round++) {
+            for (BigDecimal amount : amounts) sum += Money.toMinor(amount);
+        }
+        long allocated = mx.getThreadAllocatedBytes(thread) - before;
+
+        // ~100k conversions; the slow path allocates a BigDecimal and a BigInteger for each
+        assertThat(allocated).as("bytes allocated (sum %d)", sum).isLessThan(16 * 1024);
+    }
+
+    private BigDecimal randomDecimal(int scale, int digits) {
+        long bound = digits >= 18 ? Long.MAX_VALUE : pow10(digits);
+        long unscaled = random.nextLong(bound);
+        return BigDecimal.valueOf(random.nextInt(8) == 0 ? -unscaled : unscaled, scale);
+    }
+
+    private static long pow10(int n) {
+        long p = 1;
+        for (int i = 0; i < n; i++) p *= 10;
+        return p;
+    }
+
+    // Values beyond long range in minor units must fail the same way
+    private static void assertSameMinor(LongSupplier actual, BigDecimal exact) {
+        long expected;
+        try {
+            expected = expectedMinor(exact);
+        } catch (ArithmeticException e) {
+            assertThatThrownBy(actual::getAsLong).as("%s", exact).isInstanceOf(ArithmeticException.class);
+            return;
+        }
+        assertThat(actual.getAsLong()).as("%s", exact).isEqualTo(expected);
+    }
+
+    private static long expectedMinor(BigDecimal amount) {
+        return amount.setScale(Money.SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
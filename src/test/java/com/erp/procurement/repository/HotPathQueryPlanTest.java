@@ -0,0 +1,261 @@
+package com.erp.procurement.repository;
+
+import com.erp.procurement.PostgresIntegrationTest;
+import com.erp.procurement.enums.PurchaseOrderStatus;
+import com.erp.procurement.service.PurchaseOrderExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The V2 indexes are picked by the planner for the queries they were added for. Builds a
+ * production-shaped dataset (100k POs, most of them completed; 200k items; 250k audit rows),
+ * analyzes it, then calls each hot repository method and the export and explains the statement
+ * it sent, with the values it bound. Statements are recorded at the JDBC connection rather than
+ * by a Hibernate {@code StatementInspector} so the export's JdbcTemplate query is covered too.
+ * Everything runs in one transaction that is rolled back, statistics included, so the database is
+ * left as it was.
+ */
+class HotPathQueryPlanTest extends PostgresIntegrationTest {
+
+    private static final int ORDERS = 100_000;
+    private static final int SUPPLIERS = 200;
+    private static final int AUDIT_USERS = 500;
+    private static final int AUDIT_ROWS = 250_000;
+
+    private static final StatementRecorder RECORDER = new StatementRecorder();
+
+    @TestConfiguration
+    static class RecordingConfig {
+        @Bean
+        static BeanPostProcessor recordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? RECORDER.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PurchaseOrderRepository poRepository;
+
+    @Autowired
+    private PurchaseOrderItemRepository itemRepository;
+
+    @Autowired
+    private PurchaseReceiptRepository receiptRepository;
+
+    @Autowired
+    private PurchaseInvoiceRepository invoiceRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private PurchaseOrderExportService exportService;
+
+    @Test
+    void hotQueriesUseTheirIndexes() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            String tag = UUID.randomUUID().toString().substring(0, 8);
+            long firstOrder = seed(tag);
+            long supplierId = jdbcTemplate.queryForObject(
+                    "SELECT id FROM suppliers WHERE supplier_code = ?", Long.class, "PL" + tag + "-7");
+            List<Long> pageIds = LongStream.range(0, 20).mapToObj(i -> firstOrder + 5_000 + i * 7).toList();
+            LocalDateTime monthAgo = LocalDateTime.now().minusDays(30);
+            long midOrder = firstOrder + ORDERS / 2;
+            String auditUser = "plan-" + tag + "-17";
+
+            // Arguments as the services pass them: a slice asks for size + 1 rows, pages sort by createdAt.
+            // The status queries use an open-work status; for one as common as SUBMITTED, walking
+            // idx_po_created and filtering costs about the same and the planner may take either.
+            Pageable slice = PageRequest.of(0, 21);
+            PageRequest deepPage = PageRequest.of(3, 20, Sort.by("createdAt").descending());
+            assertPlanUses("idx_po_status_created",
+                    () -> poRepository.findSummariesByStatusFirst(PurchaseOrderStatus.TO_RECEIVE, slice));
+            assertPlanUses("idx_po_status_created", () -> poRepository.findSummariesByStatusAfter(
+                    PurchaseOrderStatus.TO_RECEIVE, monthAgo, midOrder, slice));
+            assertPlanUses("idx_po_status_created",
+                    () -> poRepository.findSummariesByStatus(PurchaseOrderStatus.TO_RECEIVE, deepPage));
+            assertPlanUses("idx_po_created", () -> poRepository.findSummariesFirst(slice));
+            assertPlanUses("idx_po_created", () -> poRepository.findSummariesAfter(monthAgo, midOrder, slice));
+            assertPlanUses("idx_po_created", () -> poRepository.findSummaries(deepPage));
+            assertPlanUses("idx_po_active_delivery", () -> poRepository.findActivePendingOrders());
+            assertPlanUses("idx_po_supplier_order_date", () -> exportService.export(PurchaseOrderExportService.Format.CSV,
+                    null, supplierId, LocalDate.now().minusDays(30), null, OutputStream.nullOutputStream()));
+            assertPlanUses("idx_po_items_po", () -> itemRepository.findSummariesByPurchaseOrderIds(pageIds));
+            assertPlanUses("idx_po_items_po", () -> itemRepository.findByPurchaseOrder_Id(firstOrder + 42));
+            assertPlanUses("idx_receipts_po", () -> receiptRepository.findByPurchaseOrder_Id(firstOrder + 42));
+            assertPlanUses("idx_invoices_po", () -> invoiceRepository.findByPurchaseOrder_Id(firstOrder + 42));
+            assertPlanUses("idx_audit_user_time",
+                    () -> auditLogRepository.findByPerformedByFirst(auditUser, PageRequest.of(0, 51)));
+            assertPlanUses("idx_audit_user_time", () -> auditLogRepository.findByPerformedByAfter(
+                    auditUser, LocalDateTime.now().minusDays(30), Long.MAX_VALUE, PageRequest.of(0, 51)));
+        });
+    }
+
+    /**
+     * Runs {@code call}, then explains the first statement it prepared with the same parameter
+     * bindings. Later statements, such as a page's count query, are not checked.
+     */
+    private void assertPlanUses(String index, Runnable call) {
+        Recorded statement = RECORDER.record(call).get(0);
+        String plan = String.join("\n", jdbcTemplate.query("EXPLAIN " + statement.sql(), ps -> {
+            for (Bind bind : statement.binds()) {
+                try {
+                    bind.setter().invoke(ps, bind.args());
+                } catch (ReflectiveOperationException e) {
+                    throw new SQLException("Could not replay " + bind.setter().getName(), e);
+                }
+            }
+        }, (rs, row) -> rs.getString(1)));
+        assertThat(plan).as("plan for %s", statement.sql()).contains(index);
+    }
+
+    /** Inserts the dataset and analyzes it; returns the id of the first generated PO. */
+    private long seed(String tag) {
+        jdbcTemplate.update("INSERT INTO suppliers (supplier_code, supplier_name, active, created_at) "
+                + "SELECT 'PL" + tag + "-' || g, 'Plan supplier ' || g, true, now() FROM generate_series(1, ?) g", SUPPLIERS);
+        long userId = jdbcTemplate.queryForObject("INSERT INTO users (username, password, full_name, email, role, "
+                + "enabled, created_at) VALUES (?, 'n/a', 'Plan User', ?, 'ROLE_ADMIN', true, now()) RETURNING id",
+                Long.class, "plan-" + tag, "plan-" + tag + "@example.test");
+
+        // About 0.3% of orders open, 5% submitted, the rest drafts and completed, spread over two years
+        jdbcTemplate.update("INSERT INTO purchase_orders (po_number, supplier_id, created_by_id, approved_by_id, status, "
+                + "order_date, expected_delivery_date, grand_total, total_received, total_billed, created_at, version, "
+                + "receipt_count) "
+                + "SELECT 'PL" + tag + "-' || g, "
+                + "(ARRAY(SELECT id FROM suppliers WHERE supplier_code LIKE 'PL" + tag + "-%' ORDER BY id))[1 + g % " + SUPPLIERS + "], "
+                + "?, ?, "
+                + "CASE WHEN g % 1000 = 0 THEN 'APPROVED' WHEN g % 1000 = 1 THEN 'TO_RECEIVE' "
+                + "WHEN g % 1000 = 2 THEN 'TO_BILL' WHEN g % 20 = 3 THEN 'SUBMITTED' WHEN g % 10 = 4 THEN 'DRAFT' "
+                + "ELSE 'COMPLETED' END, "
+                + "current_date - (g * 730 / ?), current_date + (g % 365), 100, 0, 0, "
+                + "now() - (g * interval '10 minutes'), 0, 0 "
+                + "FROM generate_series(1, ?) g", userId, userId, ORDERS, ORDERS);
+        long firstOrder = jdbcTemplate.queryForObject(
+                "SELECT min(id) FROM purchase_orders WHERE po_number LIKE 'PL" + tag + "-%'", Long.class);
+
+        String orders = " WHERE p.po_number LIKE 'PL" + tag + "-%'";
+        jdbcTemplate.update("INSERT INTO purchase_order_items (purchase_order_id, item_description, ordered_qty, "
+                + "received_qty, unit_price, line_total) SELECT p.id, 'Item ' || n, 1, 0, 50, 50 "
+                + "FROM purchase_orders p CROSS JOIN generate_series(1, 2) n" + orders);
+        jdbcTemplate.update("INSERT INTO purchase_receipts (purchase_order_id, received_by_id, receipt_number, "
+                + "receipt_date, received_amount, created_at) SELECT p.id, " + userId + ", 'R" + tag + "-' || p.id, "
+                + "current_date, 100, now() FROM purchase_orders p" + orders + " AND p.id % 2 = 0");
+        jdbcTemplate.update("INSERT INTO purchase_invoices (purchase_order_id, posted_by_id, invoice_number, "
+                + "invoice_date, invoice_amount, created_at) SELECT p.id, " + userId + ", 'I" + tag + "-' || p.id, "
+                + "current_date, 100, now() FROM purchase_orders p" + orders + " AND p.id % 2 = 0");
+        jdbcTemplate.update("INSERT INTO audit_logs (action, entity_type, entity_id, performed_by, performed_at) "
+                + "SELECT 'PO_CREATED', 'PurchaseOrder', g, 'plan-" + tag + "-' || (g % " + AUDIT_USERS + "), "
+                + "now() - (g * interval '1 minute') FROM generate_series(1, ?) g", AUDIT_ROWS);
+
+        for (String table : List.of("suppliers", "users", "purchase_orders", "purchase_order_items",
+                "purchase_receipts", "purchase_invoices", "audit_logs")) {
+            jdbcTemplate.execute("ANALYZE " + table);
+        }
+        return firstOrder;
+    }
+
+    record Bind(Method setter, Object[] args) {}
+
+    record Recorded(String sql, List<Bind> binds) {}
+
+    /**
+     * Wraps the data source so that, while {@link #record} runs on a thread, every statement that
+     * thread prepares is kept with its parameter setter calls.
+     */
+    static final class StatementRecorder {
+
+        private final ThreadLocal<List<Recorded>> recorded = new ThreadLocal<>();
+
+        DataSource wrap(DataSource target) {
+            return new DelegatingDataSource(target) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return connection(super.getConnection());
+                }
+
+                @Override
+                public Connection getConnection(String username, String password) throws SQLException {
+                    return connection(super.getConnection(username, password));
+                }
+            };
+        }
+
+        List<Recorded> record(Runnable work) {
+            List<Recorded> statements = new ArrayList<>();
+            recorded.set(statements);
+            try {
+                work.run();
+            } finally {
+                recorded.remove();
+            }
+            assertThat(statements).as("statements").isNotEmpty();
+            return statements;
+        }
+
+        private Connection connection(Connection target) {
+            return proxy(Connection.class, target, (method, args, result) -> {
+                List<Recorded> statements = recorded.get();
+                if (statements == null || !method.getName().equals("prepareStatement")) return result;
+                Recorded statement = new Recorded((String) args[0], new ArrayList<>());
+                statements.add(statement);
+                return proxy(PreparedStatement.class, (PreparedStatement) result, (setter, values, none) -> {
+                    if (setter.getName().startsWith("set") && values != null && values.length >= 2
+                            && values[0] instanceof Integer) {
+                        statement.binds().add(new Bind(setter, values));
+                    }
+                    return none;
+                });
+            });
+        }
+
+        private interface AfterCall {
+            Object apply(Method method, Object[] args, Object result);
+        }
+
+        private static <T> T proxy(Class<T> type, T target, AfterCall after) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+                if (method.getName().equals("equals") && args != null && args.length == 1) return self == args[0];
+                try {
+                    return after.apply(method, args, method.invoke(target, args));
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            }));
+        }
+    }
+}
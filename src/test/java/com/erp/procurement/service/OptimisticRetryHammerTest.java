@@ -0,0 +1,194 @@
+package com.erp.procurement.service;
+
+import com.erp.procurement.PostgresIntegrationTest;
+import com.erp.procurement.entity.PurchaseOrder;
+import com.erp.procurement.enums.Role;
+import com.erp.procurement.repository.PurchaseOrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many threads writing to one PO at once. Receipts and invoices must all land with totals that
+ * match their rows and never pass the grand total; workflow transitions and other read-modify-write
+ * work under the retry executor must commit exactly once per call however often it conflicts.
+ */
+class OptimisticRetryHammerTest extends PostgresIntegrationTest {
+
+    private static final int THREADS = 48;
+
+    @Autowired
+    private OptimisticRetryExecutor retryExecutor;
+
+    @Autowired
+    private PurchaseOrderRepository poRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void interleavedReceiptsAndInvoicesAllApply() throws Exception {
+        String coordinator = createUser(Role.ROLE_PROCUREMENT_COORDINATOR);
+        String finance = createUser(Role.ROLE_FINANCE);
+        PurchaseOrder po = createApprovedOrder(createSupplier(), coordinator, createUser(Role.ROLE_PURCHASING_MANAGER),
+                new BigDecimal("10000.00"));
+        List<Callable<Object>> work = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            work.add(() -> poService.receiveGoods(po.getId(), LocalDate.now(), new BigDecimal("10.00"), null, coordinator));
+            work.add(() -> poService.postInvoice(po.getId(), "INV-" + UUID.randomUUID(), LocalDate.now(), null,
+                    new BigDecimal("10.00"), null, finance));
+        }
+        assertThat(hammer(work)).isEmpty();
+
+        Map<String, Object> row = orderRow(po.getId());
+        assertThat((BigDecimal) row.get("total_received")).isEqualByComparingTo("4000.00");
+        assertThat((BigDecimal) row.get("total_billed")).isEqualByComparingTo("4000.00");
+        assertThat(row.get("status")).isEqualTo("TO_RECEIVE");
+        assertThat(sum("purchase_receipts", "received_amount", po.getId())).isEqualByComparingTo("4000.00");
+        assertThat(sum("purchase_invoices", "invoice_amount", po.getId())).isEqualByComparingTo("4000.00");
+    }
+
+    @Test
+    void receiptsBeyondTheGrandTotalAreRejectedAndNeverOvershoot() throws Exception {
+        String coordinator = createUser(Role.ROLE_PROCUREMENT_COORDINATOR);
+        PurchaseOrder po = createApprovedOrder(createSupplier(), coordinator, createUser(Role.ROLE_PURCHASING_MANAGER),
+                new BigDecimal("1000.00"));
+
+        List<Callable<Object>> work = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            work.add(() -> poService.receiveGoods(po.getId(), LocalDate.now(), new BigDecimal("5.00"), null, coordinator));
+        }
+        List<Throwable> failures = hammer(work);
+
+        // Rejected by the amount guard, or by the status guard once the PO has moved to TO_BILL
+        assertThat(failures).hasSize(100).allSatisfy(e -> assertThat(e.getMessage())
+                .containsAnyOf("cannot exceed PO total", "Current: TO_BILL"));
+        Map<String, Object> row = orderRow(po.getId());
+        assertThat((BigDecimal) row.get("total_received")).isEqualByComparingTo("1000.00");
+        assertThat(row.get("receipt_count")).isEqualTo(200);
+        assertThat(row.get("status")).isEqualTo("TO_BILL");
+        assertThat(sum("purchase_receipts", "received_amount", po.getId())).isEqualByComparingTo("1000.00");
+    }
+
+    // Approve and reject race on one submitted PO: one wins, every other call is retried into the
+    // workflow error for the winner's status rather than surfacing the version conflict
+    @Test
+    void racingTransitionsEndInWorkflowErrorsNotConflicts() throws Exception {
+        String coordinator = createUser(Role.ROLE_PROCUREMENT_COORDINATOR);
+        String manager = createUser(Role.ROLE_PURCHASING_MANAGER);
+        long supplierId = createSupplier();
+        long conflictsBefore = retryMetric("conflicts");
+        long exhaustedBefore = retryMetric("exhausted");
+
+        for (int round = 0; round < 10; round++) {
+            PurchaseOrder po = createOrder(supplierId, coordinator, new BigDecimal("50.00"));
+            poService.submitForApproval(po.getId(), coordinator);
+            long versionBefore = versionOf(po.getId());
+
+            List<Callable<Object>> work = new ArrayList<>();
+            for (int i = 0; i < THREADS / 2; i++) {
+                work.add(() -> poService.approvePurchaseOrder(po.getId(), manager));
+                work.add(() -> poService.rejectPurchaseOrder(po.getId(), "hammer", manager));
+            }
+            List<Throwable> failures = hammer(work);
+
+            assertThat(failures).hasSize(work.size() - 1).allSatisfy(e -> assertThat(e)
+                    .isNotInstanceOf(OptimisticLockingFailureException.class)
+                    .message().containsAnyOf("Cannot transition to APPROVED", "can be rejected"));
+            assertThat(versionOf(po.getId())).isEqualTo(versionBefore + 1);
+        }
+        assertThat(retryMetric("conflicts")).isGreaterThan(conflictsBefore);
+        assertThat(retryMetric("exhausted")).isEqualTo(exhaustedBefore);
+    }
+
+    // Entity updates conflict on @Version; every call must still commit exactly once
+    @Test
+    void conflictingEntityUpdatesEachCommitOnce() throws Exception {
+        String coordinator = createUser(Role.ROLE_PROCUREMENT_COORDINATOR);
+        PurchaseOrder po = createApprovedOrder(createSupplier(), coordinator, createUser(Role.ROLE_PURCHASING_MANAGER),
+                new BigDecimal("100.00"));
+        OptimisticRetryExecutor executor = new OptimisticRetryExecutor(transactionManager, new SimpleMeterRegistry(),
+                200, 1, 20);
+        long versionBefore = versionOf(po.getId());
+
+        int updates = 320;
+        List<Callable<Object>> work = new ArrayList<>();
+        for (int i = 0; i < updates; i++) {
+            String remark = "hammer " + i;
+            work.add(() -> executor.execute("hammer", () -> {
+                PurchaseOrder loaded = poRepository.findById(po.getId()).orElseThrow();
+                loaded.setRemarks(remark);
+                return null;
+            }));
+        }
+        assertThat(hammer(work)).isEmpty();
+
+        Map<String, Object> metrics = executor.metrics();
+        assertThat(versionOf(po.getId())).isEqualTo(versionBefore + updates);
+        assertThat((Long) metrics.get("conflicts")).isPositive();
+        assertThat((Long) metrics.get("recovered")).isPositive();
+        assertThat(metrics.get("exhausted")).isEqualTo(0L);
+    }
+
+    /** Runs all work from {@link #THREADS} threads released together; returns what each call threw. */
+    private static List<Throwable> hammer(List<Callable<Object>> work) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<Object>> futures = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        try {
+            for (Callable<Object> call : work) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Object> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return failures;
+    }
+
+    private long retryMetric(String name) {
+        return (Long) retryExecutor.metrics().get(name);
+    }
+
+    private Map<String, Object> orderRow(long id) {
+        return jdbcTemplate.queryForMap(
+                "SELECT status, total_received, total_billed, receipt_count FROM purchase_orders WHERE id = ?", id);
+    }
+
+    private long versionOf(long id) {
+        return jdbcTemplate.queryForObject("SELECT version FROM purchase_orders WHERE id = ?", Long.class, id);
+    }
+
+    private BigDecimal sum(String table, String column, long poId) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(SUM(" + column + "), 0) FROM " + table
+                + " WHERE purchase_order_id = ?", BigDecimal.class, poId);
+    }
+}
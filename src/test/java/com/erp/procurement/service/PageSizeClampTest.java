@@ -0,0 +1,55 @@
+package com.erp.procurement.service;
+
+import com.erp.procurement.PostgresIntegrationTest;
+import com.erp.procurement.dto.SeekPage;
+import com.erp.procurement.enums.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Requested page sizes outside 1..max are clamped rather than failing or reading unbounded pages. */
+class PageSizeClampTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private AuditService auditService;
+
+    @Value("${app.po.list.max-page-size}")
+    private int maxOrderPageSize;
+
+    @Value("${app.audit.user-activity.max-page-size}")
+    private int maxActivityPageSize;
+
+    @Test
+    void orderListsClampThePageSize() {
+        createOrder(createSupplier(), createUser(Role.ROLE_PROCUREMENT_COORDINATOR), new BigDecimal("5.00"));
+
+        assertThat(poService.getOrderSummaries(null, 0, 0, null, true).getSize()).isEqualTo(1);
+        assertThat(poService.getOrderSummaries(null, 0, 1_000_000, null, false).getSize()).isEqualTo(maxOrderPageSize);
+
+        SeekPage<?> first = poService.scrollOrderSummaries(null, null, 0, SeekPage.CountMode.NONE, true);
+        assertThat(first.pageSize()).isEqualTo(1);
+        assertThat(first.content()).hasSize(1);
+        assertThat(poService.scrollOrderSummaries(null, null, -5, SeekPage.CountMode.NONE, false).pageSize()).isEqualTo(1);
+        assertThat(poService.scrollOrderSummaries(null, null, 1_000_000, SeekPage.CountMode.NONE, false).pageSize())
+                .isEqualTo(maxOrderPageSize);
+    }
+
+    @Test
+    void userActivityClampsThePageSize() {
+        String username = createUser(Role.ROLE_ADMIN);
+        for (int i = 0; i < 3; i++) {
+            jdbcTemplate.update("INSERT INTO audit_logs (action, entity_type, entity_id, performed_by, description, performed_at) "
+                    + "VALUES ('PO_CREATED', 'PurchaseOrder', ?, ?, 'clamp test', now() - make_interval(secs => ?))", i, username, i);
+        }
+
+        SeekPage<?> empty = auditService.getLogsForUser(username, null, 0);
+        assertThat(empty.pageSize()).isEqualTo(1);
+        assertThat(empty.content()).hasSize(1);
+        assertThat(empty.hasMore()).isTrue();
+        assertThat(auditService.getLogsForUser(username, null, 1_000_000).pageSize()).isEqualTo(maxActivityPageSize);
+    }
+}
@@ -0,0 +1,97 @@
+package com.erp.procurement.service;
+
+import com.erp.procurement.PostgresIntegrationTest;
+import com.erp.procurement.dto.Dtos;
+import com.erp.procurement.entity.PurchaseOrder;
+import com.erp.procurement.enums.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Reconciliation runs back to back while many threads create and move POs. Every delta must be
+ * counted exactly once whichever side of a reconciliation snapshot it commits on, so no run finds
+ * drift and once the writers stop the counters equal the grouped aggregate.
+ */
+class PoKpiTrackerReconcileTest extends PostgresIntegrationTest {
+
+    private static final int THREADS = 24;
+    private static final int MOVES = 1000;
+
+    @Autowired
+    private PoKpiTracker kpiTracker;
+
+    @Test
+    void countersMatchTheDatabaseAfterReconcilingUnderLoad() throws Exception {
+        String coordinator = createUser(Role.ROLE_PROCUREMENT_COORDINATOR);
+        String manager = createUser(Role.ROLE_PURCHASING_MANAGER);
+        long supplierId = createSupplier();
+        kpiTracker.reconcile();
+        Object driftBefore = kpiTracker.metrics().get("driftCorrections");
+
+        // Writers run until the last reconciliation has finished, so every run overlaps commits
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicInteger moves = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> writers = new ArrayList<>();
+        int runs = 0;
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                writers.add(pool.submit(() -> {
+                    while (writing.get()) {
+                        moveRandomly(supplierId, coordinator, manager);
+                        moves.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            try {
+                while (moves.get() < MOVES) {
+                    kpiTracker.reconcile();
+                    runs++;
+                }
+            } finally {
+                writing.set(false);
+            }
+            for (Future<?> writer : writers) writer.get();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(runs).isPositive();
+        // Nothing changed POs behind the tracker's back, so no run may have found drift
+        assertThat(kpiTracker.metrics().get("driftCorrections")).isEqualTo(driftBefore);
+        assertThat(kpiTracker.snapshot()).isEqualTo(kpiTracker.computeFromDatabase());
+    }
+
+    // Create, then stop at a random point of the workflow so every status bucket moves
+    private void moveRandomly(long supplierId, String coordinator, String manager) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        PurchaseOrder po = poService.createPurchaseOrder(supplierId, LocalDate.now(), null, null,
+                List.of(new Dtos.ItemRequest("Item", "K-1", "PCS", BigDecimal.ONE,
+                        BigDecimal.valueOf(random.nextLong(100, 100_000), 2))), coordinator);
+        int steps = random.nextInt(5);
+        if (steps == 0) return;
+        if (steps == 1) {
+            poService.cancelPurchaseOrder(po.getId(), "kpi test", coordinator);
+            return;
+        }
+        poService.submitForApproval(po.getId(), coordinator);
+        if (steps == 2) return;
+        po = poService.approvePurchaseOrder(po.getId(), manager);
+        if (steps == 3) return;
+        poService.postInvoice(po.getId(), "KPI-" + po.getId(), LocalDate.now(), null, po.getGrandTotal(), null, manager);
+    }
+}
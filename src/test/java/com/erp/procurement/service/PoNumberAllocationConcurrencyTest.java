@@ -0,0 +1,59 @@
+package com.erp.procurement.service;
+
+import com.erp.procurement.PostgresIntegrationTest;
+import com.erp.procurement.enums.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * More concurrent creators than pooled connections, across several block reservations. A
+ * creator waiting for the next block must not hold a connection the reservation needs.
+ */
+class PoNumberAllocationConcurrencyTest extends PostgresIntegrationTest {
+
+    private static final int CREATES_PER_THREAD = 20;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int poolSize;
+
+    @Test
+    void parallelCreatesBeyondThePoolSizeGetDistinctNumbers() throws Exception {
+        String coordinator = createUser(Role.ROLE_PROCUREMENT_COORDINATOR);
+        long supplierId = createSupplier();
+        int threads = poolSize * 3;
+
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < CREATES_PER_THREAD; i++) {
+                        numbers.add(createOrder(supplierId, coordinator, new BigDecimal("10.00")).getPoNumber());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) future.get();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(numbers).hasSize(threads * CREATES_PER_THREAD);
+    }
+}
@@ -0,0 +1,139 @@
+package com.erp.procurement.service;
+
+import com.erp.procurement.PostgresIntegrationTest;
+import com.erp.procurement.dto.PurchaseOrderSummary;
+import com.erp.procurement.dto.SeekPage;
+import com.erp.procurement.enums.PurchaseOrderStatus;
+import com.erp.procurement.enums.Role;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Page;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A page or scroll slice of the PO list costs a fixed number of statements whatever its size and
+ * depth: the projection joins the supplier and users, and the items of the page load in one query. Statements are counted by a Hibernate
+ * {@link StatementInspector} on the calling thread only, so background jobs do not interfere.
+ */
+class PurchaseOrderListStatementCountTest extends PostgresIntegrationTest {
+
+    private static final int ORDERS = 25;
+
+    private static final StatementCounter COUNTER = new StatementCounter();
+
+    @TestConfiguration
+    static class CountingConfig {
+        @Bean
+        HibernatePropertiesCustomizer statementCounter() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, COUNTER);
+        }
+    }
+
+    @BeforeEach
+    void createOrders() {
+        String coordinator = createUser(Role.ROLE_PROCUREMENT_COORDINATOR);
+        String manager = createUser(Role.ROLE_PURCHASING_MANAGER);
+        long supplierId = createSupplier();
+        for (int i = 0; i < ORDERS; i++) {
+            createApprovedOrder(supplierId, coordinator, manager, new BigDecimal("100.00"));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 20})
+    void summaryPageWithItemsIsPageCountAndItems(int size) {
+        Page<PurchaseOrderSummary> page = COUNTER.count(3,
+                () -> poService.getOrderSummaries(null, 0, size, null, true));
+        assertThat(page.getContent()).hasSize(size).allSatisfy(po -> assertThat(po.items()).isNotEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 20})
+    void summaryPageWithoutItemsIsPageAndCount(int size) {
+        Page<PurchaseOrderSummary> page = COUNTER.count(2,
+                () -> poService.getOrderSummaries(null, 0, size, null, false));
+        assertThat(page.getContent()).hasSize(size).allSatisfy(po -> assertThat(po.items()).isNull());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 20})
+    void scrollSliceWithItemsIsSliceAndItems(int size) {
+        SeekPage<PurchaseOrderSummary> slice = COUNTER.count(2,
+                () -> poService.scrollOrderSummaries(null, null, size, SeekPage.CountMode.NONE, true));
+        assertThat(slice.content()).hasSize(size).allSatisfy(po -> assertThat(po.items()).isNotEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 20})
+    void summaryPageByStatusIsPageCountAndItems(int size) {
+        Page<PurchaseOrderSummary> page = COUNTER.count(3,
+                () -> poService.getOrderSummaries(PurchaseOrderStatus.TO_RECEIVE, 0, size, null, true));
+        assertThat(page.getContent()).hasSize(size).allSatisfy(po -> {
+            assertThat(po.status()).isEqualTo(PurchaseOrderStatus.TO_RECEIVE);
+            assertThat(po.items()).isNotEmpty();
+        });
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 20})
+    void scrollSliceWithoutItemsIsOneStatement(int size) {
+        SeekPage<PurchaseOrderSummary> slice = COUNTER.count(1,
+                () -> poService.scrollOrderSummaries(null, null, size, SeekPage.CountMode.NONE, false));
+        assertThat(slice.content()).hasSize(size).allSatisfy(po -> assertThat(po.items()).isNull());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 20})
+    void laterScrollSliceByStatusCostsTheSame(int size) {
+        String cursor = poService.scrollOrderSummaries(PurchaseOrderStatus.TO_RECEIVE, null, size,
+                SeekPage.CountMode.NONE, false).nextCursor();
+        SeekPage<PurchaseOrderSummary> slice = COUNTER.count(2, () -> poService.scrollOrderSummaries(
+                PurchaseOrderStatus.TO_RECEIVE, cursor, size, SeekPage.CountMode.NONE, true));
+        assertThat(slice.content()).hasSize(size).allSatisfy(po -> assertThat(po.items()).isNotEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {5, 20})
+    void scrollSliceWithExactCountAddsOneStatement(int size) {
+        SeekPage<PurchaseOrderSummary> slice = COUNTER.count(3,
+                () -> poService.scrollOrderSummaries(null, null, size, SeekPage.CountMode.EXACT, true));
+        assertThat(slice.content()).hasSize(size);
+        assertThat(slice.totalElements()).isGreaterThanOrEqualTo(ORDERS);
+    }
+
+    static final class StatementCounter implements StatementInspector {
+
+        private final ThreadLocal<List<String>> recorded = new ThreadLocal<>();
+
+        @Override
+        public String inspect(String sql) {
+            List<String> statements = recorded.get();
+            if (statements != null) statements.add(sql);
+            return sql;
+        }
+
+        <T> T count(int expected, Supplier<T> work) {
+            List<String> statements = new ArrayList<>();
+            recorded.set(statements);
+            try {
+                T result = work.get();
+                assertThat(statements).as("statements").hasSize(expected);
+                return result;
+            } finally {
+                recorded.remove();
+            }
+        }
+    }
+}
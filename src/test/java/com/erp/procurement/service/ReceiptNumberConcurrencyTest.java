@@ -0,0 +1,81 @@
+package com.erp.procurement.service;
+
+import com.erp.procurement.PostgresIntegrationTest;
+import com.erp.procurement.entity.PurchaseOrder;
+import com.erp.procurement.enums.Role;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Receipt numbers come from the per-PO {@code receipt_count} advanced by the guarded totals
+ * UPDATE, so receipts posted in parallel must get gap-free, distinct numbers with no retries.
+ */
+class ReceiptNumberConcurrencyTest extends PostgresIntegrationTest {
+
+    private static final int ORDERS = 4;
+    private static final int RECEIPTS_PER_ORDER = 500;
+    private static final int THREADS = 32;
+
+    @Test
+    void parallelReceiptsGetDistinctGapFreeNumbers() throws Exception {
+        String coordinator = createUser(Role.ROLE_PROCUREMENT_COORDINATOR);
+        String manager = createUser(Role.ROLE_PURCHASING_MANAGER);
+        long supplierId = createSupplier();
+        List<PurchaseOrder> orders = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            orders.add(createApprovedOrder(supplierId, coordinator, manager, new BigDecimal("1000000.00")));
+        }
+
+        Set<String> numbers = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int r = 0; r < RECEIPTS_PER_ORDER; r++) {
+                for (PurchaseOrder po : orders) {
+                    futures.add(pool.submit(() -> {
+                        start.await();
+                        numbers.add(poService.receiveGoods(po.getId(), LocalDate.now(), new BigDecimal("1.25"),
+                                null, coordinator).getReceiptNumber());
+                        return null;
+                    }));
+                }
+            }
+            start.countDown();
+            for (Future<?> future : futures) future.get();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(numbers).hasSize(ORDERS * RECEIPTS_PER_ORDER);
+        for (PurchaseOrder po : orders) {
+            Set<String> expected = IntStream.rangeClosed(1, RECEIPTS_PER_ORDER)
+                    .mapToObj(n -> "REC-" + po.getPoNumber() + "-" + String.format("%05d", n))
+                    .collect(Collectors.toSet());
+            List<String> stored = jdbcTemplate.queryForList(
+                    "SELECT receipt_number FROM purchase_receipts WHERE purchase_order_id = ?", String.class, po.getId());
+            assertThat(stored).hasSize(RECEIPTS_PER_ORDER).containsExactlyInAnyOrderElementsOf(expected);
+
+            Map<String, Object> row = jdbcTemplate.queryForMap(
+                    "SELECT receipt_count, total_received FROM purchase_orders WHERE id = ?", po.getId());
+            assertThat(row.get("receipt_count")).isEqualTo(RECEIPTS_PER_ORDER);
+            assertThat((BigDecimal) row.get("total_received"))
+                    .isEqualByComparingTo(new BigDecimal("1.25").multiply(BigDecimal.valueOf(RECEIPTS_PER_ORDER)));
+        }
+    }
+}